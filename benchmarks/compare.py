@@ -0,0 +1,40 @@
+#!/usr/bin/env python3
+"""Compare two JMH JSON result files (e.g. a baseline from main vs. your branch).
+
+Usage: python3 compare.py baseline.json current.json [threshold_percent]
+Prints each benchmark's score change and exits with 1 if any got slower than the threshold (default 10%).
+"""
+import json
+import sys
+
+
+def load(path):
+    with open(path) as f:
+        return {(r["benchmark"], json.dumps(r.get("params", {}), sort_keys=True)): r for r in json.load(f)}
+
+
+def main():
+    if len(sys.argv) < 3:
+        print(__doc__)
+        sys.exit(2)
+    baseline, current = load(sys.argv[1]), load(sys.argv[2])
+    threshold = float(sys.argv[3]) if len(sys.argv) > 3 else 10.0
+    regressions = 0
+    for key in sorted(current):
+        cur = current[key]["primaryMetric"]
+        unit = cur["scoreUnit"]
+        if key not in baseline:
+            print(f"{key[0]:<80} {cur['score']:>12.3f} {unit}  (new)")
+            continue
+        base = baseline[key]["primaryMetric"]["score"]
+        change = (cur["score"] - base) / base * 100 if base else 0.0
+        # AverageTime/SampleTime: higher is worse. Throughput: lower is worse.
+        worse = -change if unit.startswith("ops/") else change
+        flag = "  REGRESSION" if worse > threshold else ""
+        regressions += bool(flag)
+        print(f"{key[0]:<80} {base:>12.3f} -> {cur['score']:>12.3f} {unit} ({change:+.1f}%){flag}")
+    sys.exit(1 if regressions else 0)
+
+
+if __name__ == "__main__":
+    main()
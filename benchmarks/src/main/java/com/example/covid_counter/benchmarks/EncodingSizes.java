@@ -0,0 +1,44 @@
+package com.example.covid_counter.benchmarks;
+
+import com.example.covid_counter.model.WorldometerColumns;
+import com.example.covid_counter.model.WorldometerData;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Prints the size of the /worldometer payload in each encoding, raw and gzipped.
+ *
+ * Usage: java -cp benchmarks.jar com.example.covid_counter.benchmarks.EncodingSizes
+ */
+public final class EncodingSizes {
+
+    private EncodingSizes() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<WorldometerData> rows = Fixtures.worldometer();
+        WorldometerColumns columns = WorldometerColumns.of(rows);
+        ObjectMapper json = JsonMapper.builder().build();
+        ObjectMapper cbor = CBORMapper.builder().build();
+
+        System.out.printf("%-24s %10s %10s%n", "encoding (" + rows.size() + " rows)", "bytes", "gzipped");
+        print("JSON rows", json.writeValueAsBytes(rows));
+        print("CBOR rows", cbor.writeValueAsBytes(rows));
+        print("JSON columns", json.writeValueAsBytes(columns));
+        print("CBOR columns", cbor.writeValueAsBytes(columns));
+    }
+
+    private static void print(String name, byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(bytes);
+        }
+        System.out.printf("%-24s %10d %10d%n", name, bytes.length, out.size());
+    }
+}
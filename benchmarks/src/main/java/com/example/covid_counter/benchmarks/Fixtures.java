@@ -0,0 +1,94 @@
+package com.example.covid_counter.benchmarks;
+
+import com.example.covid_counter.ingest.CsvReader;
+import com.example.covid_counter.ingest.CsvRow;
+import com.example.covid_counter.model.CountryWiseLatest;
+import com.example.covid_counter.model.WorldometerData;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Real rows for the benchmarks, read from the CSV files bundled in the app jar.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static List<CountryWiseLatest> countryWiseLatest() {
+        return read("country_wise_latest.csv", row -> {
+            CountryWiseLatest c = new CountryWiseLatest();
+            c.setCountryRegion(row.getString(0));
+            c.setConfirmed(longOrNull(row, 1));
+            c.setDeaths(longOrNull(row, 2));
+            c.setRecovered(longOrNull(row, 3));
+            c.setActive(longOrNull(row, 4));
+            c.setNewCases(longOrNull(row, 5));
+            c.setNewDeaths(longOrNull(row, 6));
+            c.setNewRecovered(longOrNull(row, 7));
+            c.setDeathsPer100Cases(decimalOrNull(row, 8));
+            c.setRecoveredPer100Cases(decimalOrNull(row, 9));
+            c.setDeathsPer100Recovered(decimalOrNull(row, 10));
+            c.setConfirmedLastWeek(longOrNull(row, 11));
+            c.setOneWeekChange(longOrNull(row, 12));
+            c.setOneWeekPercentIncrease(decimalOrNull(row, 13));
+            c.setWhoRegion(row.getString(14));
+            return c;
+        });
+    }
+
+    static List<WorldometerData> worldometer() {
+        return read("worldometer_data.csv", row -> {
+            WorldometerData w = new WorldometerData();
+            w.setCountryRegion(row.getString(0));
+            w.setContinent(row.getString(1));
+            w.setPopulation(longOrNull(row, 2));
+            w.setTotalCases(longOrNull(row, 3));
+            w.setNewCases(longOrNull(row, 4));
+            w.setTotalDeaths(longOrNull(row, 5));
+            w.setNewDeaths(longOrNull(row, 6));
+            w.setTotalRecovered(longOrNull(row, 7));
+            w.setNewRecovered(longOrNull(row, 8));
+            w.setActiveCases(longOrNull(row, 9));
+            w.setSeriousCritical(longOrNull(row, 10));
+            w.setTotCasesPer1Mpop(decimalOrNull(row, 11));
+            w.setDeathsPer1Mpop(decimalOrNull(row, 12));
+            w.setTotalTests(longOrNull(row, 13));
+            w.setTestsPer1Mpop(decimalOrNull(row, 14));
+            w.setWhoRegion(row.getString(15));
+            return w;
+        });
+    }
+
+    private static <T> List<T> read(String resource, Function<CsvRow, T> mapper) {
+        try (InputStream in = Fixtures.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException(resource + " not found on the classpath");
+            }
+            CsvReader reader = new CsvReader(in);
+            reader.next(); // header
+            List<T> rows = new ArrayList<>();
+            while (reader.next()) {
+                rows.add(mapper.apply(reader.row()));
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Long longOrNull(CsvRow row, int field) {
+        return row.isBlank(field) ? null : row.getLong(field);
+    }
+
+    private static BigDecimal decimalOrNull(CsvRow row, int field) {
+        double value = row.isBlank(field) ? Double.NaN : row.getDouble(field);
+        return Double.isNaN(value) ? null : BigDecimal.valueOf(value);
+    }
+}
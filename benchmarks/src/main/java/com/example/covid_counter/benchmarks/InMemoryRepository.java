@@ -0,0 +1,42 @@
+package com.example.covid_counter.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Stand-in for a Spring Data repository interface, backed by a map.
+ * Supports the calls the services make on their read paths: findAll, findById, save, count.
+ */
+final class InMemoryRepository {
+
+    private InMemoryRepository() {
+    }
+
+    static <R, T, ID> R of(Class<R> repoType, List<T> rows, Function<T, ID> id) {
+        Map<Object, T> byId = new LinkedHashMap<>();
+        rows.forEach(row -> byId.put(id.apply(row), row));
+
+        Object proxy = Proxy.newProxyInstance(repoType.getClassLoader(), new Class<?>[] {repoType},
+                (self, method, args) -> switch (method.getName()) {
+                    case "findAll" -> new ArrayList<>(byId.values());
+                    case "findById" -> Optional.ofNullable(byId.get(args[0]));
+                    case "count" -> (long) byId.size();
+                    case "save" -> {
+                        @SuppressWarnings("unchecked")
+                        T row = (T) args[0];
+                        byId.put(id.apply(row), row);
+                        yield row;
+                    }
+                    case "hashCode" -> System.identityHashCode(self);
+                    case "equals" -> self == args[0];
+                    case "toString" -> "InMemoryRepository(" + repoType.getSimpleName() + ")";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        return repoType.cast(proxy);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.covid_counter.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.example.covid_counter.security.JwtFilter;
+import com.example.covid_counter.security.JwtUtil;
+import com.example.covid_counter.security.VerifiedTokenCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through {@link JwtFilter}: header lookup, token checks,
+ * SecurityContext population. Mock request/response creation is included in the number.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private JwtFilter filter;
+    private JwtFilter uncachedFilter;
+    private String bearer;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = new JwtUtil();
+        filter = new JwtFilter(jwtUtil, new VerifiedTokenCache(10_000), new SimpleMeterRegistry());
+        // A cache size of 0 disables caching, so every request verifies the token.
+        uncachedFilter = new JwtFilter(jwtUtil, new VerifiedTokenCache(0), new SimpleMeterRegistry());
+        bearer = "Bearer " + jwtUtil.generateToken("bench@example.com");
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws Exception {
+        return authenticate(filter);
+    }
+
+    @Benchmark
+    public Object authenticatedRequestUncached() throws Exception {
+        return authenticate(uncachedFilter);
+    }
+
+    private Object authenticate(JwtFilter target) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/countries");
+        request.setServletPath("/countries");
+        request.addHeader("Authorization", bearer);
+        try {
+            target.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public Object anonymousRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/countries");
+        request.setServletPath("/countries");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
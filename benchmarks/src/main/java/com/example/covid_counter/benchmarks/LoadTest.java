@@ -0,0 +1,141 @@
+package com.example.covid_counter.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load generator for a running app.
+ *
+ * Each simulated client sends a request, waits for the answer and sends the next one,
+ * so with enough clients the server's thread model (not the client) is the bottleneck.
+ * Run it once against the default (virtual threads) app and once against an app started
+ * with the "platform-threads" profile, and compare the throughput lines.
+ *
+ * Usage: java -cp benchmarks.jar com.example.covid_counter.benchmarks.LoadTest
+ *            [url] [clients] [seconds] [bearer-token]
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "http://localhost:8080/countries";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        String token = args.length > 3 ? args[3] : null;
+
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .GET();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest request = builder.build();
+
+        System.out.printf("Load test: %s, %d clients, %d s%n", url, clients, seconds);
+
+        // Short warm-up so JIT and connection setup do not count.
+        run(http, request, Math.min(clients, 50), System.nanoTime() + Duration.ofSeconds(3).toNanos());
+
+        long start = System.nanoTime();
+        List<ClientResult> results = run(http, request, clients, start + Duration.ofSeconds(seconds).toNanos());
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        report(results, elapsed);
+    }
+
+    private static List<ClientResult> run(HttpClient http, HttpRequest request, int clients, long deadline)
+            throws Exception {
+        // One virtual thread per simulated client: the generator itself never runs out of threads.
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<ClientResult>> futures = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                futures.add(pool.submit(() -> client(http, request, deadline)));
+            }
+            List<ClientResult> results = new ArrayList<>(clients);
+            for (Future<ClientResult> f : futures) {
+                results.add(f.get());
+            }
+            return results;
+        }
+    }
+
+    private static ClientResult client(HttpClient http, HttpRequest request, long deadline) {
+        ClientResult result = new ClientResult();
+        while (System.nanoTime() < deadline) {
+            long t0 = System.nanoTime();
+            try {
+                HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() / 100 == 2) {
+                    result.record(System.nanoTime() - t0);
+                } else {
+                    result.errors++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                result.errors++;
+            }
+        }
+        return result;
+    }
+
+    private static void report(List<ClientResult> results, double elapsedSeconds) {
+        int total = 0;
+        long errors = 0;
+        for (ClientResult r : results) {
+            total += r.count;
+            errors += r.errors;
+        }
+        long[] all = new long[total];
+        int pos = 0;
+        for (ClientResult r : results) {
+            System.arraycopy(r.latencies, 0, all, pos, r.count);
+            pos += r.count;
+        }
+        Arrays.sort(all);
+
+        System.out.printf("requests ok: %d, errors: %d%n", total, errors);
+        System.out.printf("throughput: %.1f req/s%n", total / elapsedSeconds);
+        if (total > 0) {
+            System.out.printf("latency ms: p50 %.2f, p90 %.2f, p99 %.2f, max %.2f%n",
+                    percentile(all, 0.50), percentile(all, 0.90), percentile(all, 0.99), all[total - 1] / 1e6);
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    /**
+     * Latencies of one client, kept in a growable primitive array.
+     */
+    private static final class ClientResult {
+        long[] latencies = new long[1024];
+        int count;
+        long errors;
+
+        void record(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.covid_counter.benchmarks;
+
+import com.example.covid_counter.model.CountryWiseLatest;
+import com.example.covid_counter.model.WorldometerColumns;
+import com.example.covid_counter.model.WorldometerData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialisation of the full /countries and /worldometer payloads, plus the
+ * CBOR and columnar (/worldometer/columns) alternatives. Run EncodingSizes for the
+ * matching payload sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private JsonMapper mapper;
+    private CBORMapper cborMapper;
+    private List<CountryWiseLatest> countries;
+    private List<WorldometerData> worldometer;
+    private WorldometerColumns worldometerColumns;
+
+    @Setup
+    public void setUp() {
+        mapper = JsonMapper.builder().build();
+        cborMapper = CBORMapper.builder().build();
+        countries = Fixtures.countryWiseLatest();
+        worldometer = Fixtures.worldometer();
+        worldometerColumns = WorldometerColumns.of(worldometer);
+    }
+
+    @Benchmark
+    public byte[] countryWiseLatestJson() {
+        return mapper.writeValueAsBytes(countries);
+    }
+
+    @Benchmark
+    public byte[] worldometerJson() {
+        return mapper.writeValueAsBytes(worldometer);
+    }
+
+    @Benchmark
+    public byte[] worldometerCbor() {
+        return cborMapper.writeValueAsBytes(worldometer);
+    }
+
+    @Benchmark
+    public byte[] worldometerColumnsJson() {
+        return mapper.writeValueAsBytes(worldometerColumns);
+    }
+
+    @Benchmark
+    public byte[] worldometerColumnsCbor() {
+        return cborMapper.writeValueAsBytes(worldometerColumns);
+    }
+}
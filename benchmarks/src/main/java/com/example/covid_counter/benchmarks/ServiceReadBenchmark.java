@@ -0,0 +1,99 @@
+package com.example.covid_counter.benchmarks;
+
+import com.example.covid_counter.cache.CountryWiseLatestCache;
+import com.example.covid_counter.cache.WorldometerCache;
+import com.example.covid_counter.event.TableReloadedEvent;
+import com.example.covid_counter.event.Tables;
+import com.example.covid_counter.model.CountryWiseLatest;
+import com.example.covid_counter.model.WorldometerData;
+import com.example.covid_counter.repo.CountryWiseLatestRepo;
+import com.example.covid_counter.repo.WorldometerDataRepo;
+import com.example.covid_counter.service.CountryWiseLatestService;
+import com.example.covid_counter.service.WorldometerDataService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service-level reads against in-memory repository stand-ins, so the numbers cover the
+ * service, cache and index code without MySQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceReadBenchmark {
+
+    private CountryWiseLatestCache countryCache;
+    private CountryWiseLatestService countries;
+    private WorldometerDataService worldometer;
+
+    @Setup
+    public void setUp() {
+        CountryWiseLatestRepo countryRepo = InMemoryRepository.of(CountryWiseLatestRepo.class,
+                Fixtures.countryWiseLatest(), CountryWiseLatest::getCountryRegion);
+        countryCache = new CountryWiseLatestCache(countryRepo);
+        // Read-only benchmark: no bulk updater needed.
+        countries = new CountryWiseLatestService(countryRepo, countryCache, event -> { }, null);
+
+        WorldometerDataRepo worldRepo = InMemoryRepository.of(WorldometerDataRepo.class,
+                Fixtures.worldometer(), WorldometerData::getCountryRegion);
+        worldometer = new WorldometerDataService(worldRepo, new WorldometerCache(worldRepo), event -> { }, null);
+    }
+
+    @Benchmark
+    public List<CountryWiseLatest> countriesGetAll() {
+        return countries.getAll();
+    }
+
+    @Benchmark
+    public List<CountryWiseLatest> countriesByWhoRegion() {
+        return countries.getByWhoRegion("Europe");
+    }
+
+    @Benchmark
+    public List<CountryWiseLatest> countriesActiveLessThan() {
+        return countries.getByActiveLessThan(1000L);
+    }
+
+    @Benchmark
+    public List<CountryWiseLatest> countriesTopActive() {
+        return countries.getTopActive(10);
+    }
+
+    /**
+     * Cost of rebuilding the snapshot after a reload (findAll + copies + indexes).
+     */
+    @Benchmark
+    public CountryWiseLatestCache.Snapshot countriesSnapshotRebuild() {
+        countryCache.onTableReloaded(new TableReloadedEvent(Tables.COUNTRY_WISE_LATEST));
+        return countryCache.snapshot();
+    }
+
+    @Benchmark
+    public List<WorldometerData> worldometerCountryPrefix() {
+        return worldometer.getAll("In", null);
+    }
+
+    @Benchmark
+    public List<WorldometerData> worldometerCountryAndContinentPrefix() {
+        return worldometer.getAll("S", "Eu");
+    }
+
+    @Benchmark
+    public List<WorldometerData> worldometerTypeahead() {
+        return worldometer.search("in", 10);
+    }
+}
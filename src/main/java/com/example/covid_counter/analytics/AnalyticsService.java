@@ -0,0 +1,168 @@
+package com.example.covid_counter.analytics;
+
+import com.example.covid_counter.cache.GeoGridIndex;
+import com.example.covid_counter.model.CountryTotal;
+import com.example.covid_counter.model.GrowthDay;
+import com.example.covid_counter.model.ProvincePoint;
+import com.example.covid_counter.model.RegionSeries;
+import com.example.covid_counter.model.RegionTotals;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Aggregations over the province-level dataset, computed from {@link ProvinceColumnStore}.
+ */
+@Service
+public class AnalyticsService {
+
+    private final ProvinceColumnCache cache;
+
+    public AnalyticsService(ProvinceColumnCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Daily totals of a metric for every WHO region.
+     */
+    public RegionSeries regionSeries(Metric metric) {
+        ProvinceColumnStore store = cache.snapshot();
+        long[][] sums = store.sumByRegionPerDay(metric);
+        Map<String, long[]> series = new LinkedHashMap<>();
+        for (int r = 0; r < sums.length; r++) {
+            series.put(store.regions().decode(r), sums[r]);
+        }
+        return new RegionSeries(metric.name().toLowerCase(Locale.ROOT), LocalDate.ofEpochDay(store.minDay()),
+                store.dayCount(), series);
+    }
+
+    /**
+     * All four metrics per WHO region on one date (empty if the date is not in the data).
+     */
+    public List<RegionTotals> regionTotals(LocalDate date) {
+        ProvinceColumnStore store = cache.snapshot();
+        int day = (int) date.toEpochDay();
+        if (!inRange(store, day)) {
+            return List.of();
+        }
+        long[] confirmed = store.sumByRegionOnDay(Metric.CONFIRMED, day);
+        long[] deaths = store.sumByRegionOnDay(Metric.DEATHS, day);
+        long[] recovered = store.sumByRegionOnDay(Metric.RECOVERED, day);
+        long[] active = store.sumByRegionOnDay(Metric.ACTIVE, day);
+        List<RegionTotals> result = new ArrayList<>();
+        for (int r = 0; r < confirmed.length; r++) {
+            result.add(new RegionTotals(store.regions().decode(r), confirmed[r], deaths[r], recovered[r], active[r]));
+        }
+        return result;
+    }
+
+    /**
+     * The day with the largest day-over-day increase of a metric for one country.
+     */
+    public GrowthDay maxGrowthDay(String country, Metric metric) {
+        ProvinceColumnStore store = cache.snapshot();
+        int countryId = requireCountry(store, country);
+        long[] series = store.countrySeries(metric, countryId);
+
+        int bestDay = -1;
+        long bestIncrease = Long.MIN_VALUE;
+        for (int d = 1; d < series.length; d++) {
+            long increase = series[d] - series[d - 1];
+            if (increase > bestIncrease) {
+                bestIncrease = increase;
+                bestDay = d;
+            }
+        }
+        if (bestDay < 0) {
+            return new GrowthDay(store.countries().decode(countryId), metric.name().toLowerCase(Locale.ROOT), null, 0);
+        }
+        return new GrowthDay(store.countries().decode(countryId), metric.name().toLowerCase(Locale.ROOT),
+                LocalDate.ofEpochDay(store.minDay() + bestDay), bestIncrease);
+    }
+
+    /**
+     * Countries with the highest value of a metric on one date, highest first.
+     */
+    public List<CountryTotal> topCountries(LocalDate date, Metric metric, int limit) {
+        ProvinceColumnStore store = cache.snapshot();
+        int day = (int) date.toEpochDay();
+        if (!inRange(store, day)) {
+            return List.of();
+        }
+        long[] sums = store.sumByCountryOnDay(metric, day);
+        List<CountryTotal> result = new ArrayList<>(sums.length);
+        for (int c = 0; c < sums.length; c++) {
+            result.add(new CountryTotal(store.countries().decode(c), sums[c]));
+        }
+        result.sort(Comparator.comparingLong(CountryTotal::getValue).reversed());
+        return result.subList(0, Math.min(Math.max(limit, 0), result.size()));
+    }
+
+    /**
+     * Provinces inside a lat/long box with their numbers on a date (the last day when date is null).
+     * west &gt; east selects a box across the antimeridian.
+     *
+     * @throws IllegalArgumentException for invalid coordinates
+     */
+    public List<ProvincePoint> provincesWithin(double south, double west, double north, double east, LocalDate date) {
+        ProvinceColumnStore store = cache.snapshot();
+        int[] places = store.places().withinBox(south, west, north, east);
+        return toPoints(store, places, date, Double.NaN, Double.NaN);
+    }
+
+    /**
+     * Provinces within radiusKm of a point, nearest first, with their numbers on a date
+     * (the last day when date is null).
+     *
+     * @throws IllegalArgumentException for invalid coordinates or radius
+     */
+    public List<ProvincePoint> provincesNear(double lat, double lon, double radiusKm, int limit, LocalDate date) {
+        ProvinceColumnStore store = cache.snapshot();
+        int[] places = store.places().near(lat, lon, radiusKm, limit);
+        return toPoints(store, places, date, lat, lon);
+    }
+
+    // Places without a row on the date are left out. Distances are added when fromLat is a number.
+    private static List<ProvincePoint> toPoints(ProvinceColumnStore store, int[] places, LocalDate date,
+                                                double fromLat, double fromLon) {
+        int day = date == null ? store.minDay() + store.dayCount() - 1 : (int) date.toEpochDay();
+        List<ProvincePoint> result = new ArrayList<>(places.length);
+        for (int place : places) {
+            int row = store.placeRow(place, day);
+            if (row < 0) {
+                continue;
+            }
+            int sample = store.placeSampleRow(place);
+            double lat = store.latAt(sample);
+            double lon = store.lonAt(sample);
+            int province = store.provinceAt(sample);
+            result.add(new ProvincePoint(
+                    store.countries().decode(store.countryAt(sample)),
+                    province < 0 ? null : store.provinces().decode(province),
+                    lat, lon, LocalDate.ofEpochDay(day),
+                    store.column(Metric.CONFIRMED)[row], store.column(Metric.DEATHS)[row],
+                    store.column(Metric.RECOVERED)[row], store.column(Metric.ACTIVE)[row],
+                    Double.isNaN(fromLat) ? null : GeoGridIndex.distanceKm(fromLat, fromLon, lat, lon)));
+        }
+        return result;
+    }
+
+    private static boolean inRange(ProvinceColumnStore store, int day) {
+        return day >= store.minDay() && day < store.minDay() + store.dayCount();
+    }
+
+    private static int requireCountry(ProvinceColumnStore store, String country) {
+        int id = store.countries().idOf(country);
+        if (id < 0) {
+            throw new EntityNotFoundException("No province data for country: " + country);
+        }
+        return id;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.covid_counter.analytics;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Numeric columns of day_wise (worldwide totals per date) that trend queries can use.
+ * The first four are cumulative, the NEW_* ones are daily increments.
+ */
+public enum DailyMetric {
+    CONFIRMED, DEATHS, RECOVERED, ACTIVE, NEW_CASES, NEW_DEATHS, NEW_RECOVERED;
+
+    /**
+     * Accepts "new_cases", "new-cases" and "newCases" style names.
+     *
+     * @throws IllegalArgumentException for unknown names
+     */
+    public static DailyMetric fromName(String name) {
+        String normalised = name == null ? "" : name.replace("-", "").replace("_", "");
+        return Arrays.stream(values())
+                .filter(m -> m.name().replace("_", "").equalsIgnoreCase(normalised))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown metric: " + name));
+    }
+
+    public String jsonName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.covid_counter.analytics;
+
+import com.example.covid_counter.model.DailyTrend;
+import com.example.covid_counter.model.DayWise;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable copy of day_wise indexed by day: the rows themselves plus one long[] per metric,
+ * all at index {@code epochDay - firstDay}, so looking up a day or a range is an array offset.
+ * In the metric columns, days missing from the table repeat the previous cumulative values
+ * and count 0 new cases; the row slot stays null.
+ *
+ * Trends are computed in one pass over a column and remembered per (metric, window) for
+ * as long as this snapshot lives; any change to the table builds a new snapshot.
+ */
+public final class DailySeries {
+
+    public static final int MAX_WINDOW = 90;
+
+    private static final DailyMetric[] METRICS = DailyMetric.values();
+    private static final double LN2 = Math.log(2);
+
+    private final long firstDay;
+    // Detached rows by day; null where the table has no row.
+    private final DayWise[] rows;
+    // columns[metric.ordinal()][day]
+    private final long[][] columns;
+    private final Map<String, DailyTrend> trends = new ConcurrentHashMap<>();
+
+    private DailySeries(long firstDay, DayWise[] rows, long[][] columns) {
+        this.firstDay = firstDay;
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    /**
+     * Build the series from detached table rows. Rows without a date are skipped.
+     */
+    public static DailySeries of(Collection<DayWise> rows) {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (DayWise row : rows) {
+            if (row.getDate() != null) {
+                min = Math.min(min, row.getDate().toEpochDay());
+                max = Math.max(max, row.getDate().toEpochDay());
+            }
+        }
+        if (min > max) {
+            return new DailySeries(0, new DayWise[0], new long[METRICS.length][0]);
+        }
+
+        int days = Math.toIntExact(max - min + 1);
+        DayWise[] byDay = new DayWise[days];
+        long[][] columns = new long[METRICS.length][days];
+        for (DayWise row : rows) {
+            if (row.getDate() != null) {
+                int d = (int) (row.getDate().toEpochDay() - min);
+                byDay[d] = row;
+                for (DailyMetric metric : METRICS) {
+                    columns[metric.ordinal()][d] = valueOf(row, metric);
+                }
+            }
+        }
+        fillGaps(columns, byDay);
+        return new DailySeries(min, byDay, columns);
+    }
+
+    /**
+     * Copy of this series with one row replaced (or added), used after a single-row update.
+     */
+    public DailySeries with(DayWise row) {
+        if (row.getDate() == null) {
+            return this;
+        }
+        long day = row.getDate().toEpochDay();
+        if (days() == 0 || day < firstDay || day >= firstDay + days()) {
+            // Outside the current range: rare enough to just rebuild the arrays.
+            return extendedTo(day).with(row);
+        }
+        int d = (int) (day - firstDay);
+        DayWise[] rowsCopy = rows.clone();
+        rowsCopy[d] = row;
+        long[][] copy = new long[METRICS.length][];
+        for (DailyMetric metric : METRICS) {
+            copy[metric.ordinal()] = columns[metric.ordinal()].clone();
+            copy[metric.ordinal()][d] = valueOf(row, metric);
+        }
+        // Gap days after d carried the old values forward; give them the new ones,
+        // so the result matches a rebuild from the same rows.
+        carryForward(copy, rowsCopy, d + 1);
+        return new DailySeries(firstDay, rowsCopy, copy);
+    }
+
+    public int days() {
+        return rows.length;
+    }
+
+    public LocalDate firstDate() {
+        return LocalDate.ofEpochDay(firstDay);
+    }
+
+    /**
+     * The row for one date, or null if the table has none.
+     */
+    public DayWise row(LocalDate date) {
+        long d = date.toEpochDay() - firstDay;
+        return d >= 0 && d < rows.length ? rows[(int) d] : null;
+    }
+
+    /**
+     * Rows from..to (both inclusive, either may be null for open-ended) in date order.
+     */
+    public List<DayWise> rows(LocalDate from, LocalDate to) {
+        long start = from == null ? 0 : Math.max(0, from.toEpochDay() - firstDay);
+        long end = to == null ? rows.length - 1 : Math.min(rows.length - 1, to.toEpochDay() - firstDay);
+        List<DayWise> result = new ArrayList<>((int) Math.max(0, end - start + 1));
+        for (long d = start; d <= end; d++) {
+            if (rows[(int) d] != null) {
+                result.add(rows[(int) d]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The raw column of a metric. Callers must not modify it.
+     */
+    long[] column(DailyMetric metric) {
+        return columns[metric.ordinal()];
+    }
+
+    /**
+     * Rolling average, growth, doubling time and peaks for one metric, computed once per
+     * (metric, window) for this snapshot.
+     *
+     * @throws IllegalArgumentException if window is outside 1..MAX_WINDOW
+     */
+    public DailyTrend trend(DailyMetric metric, int window) {
+        if (window < 1 || window > MAX_WINDOW) {
+            throw new IllegalArgumentException("window must be between 1 and " + MAX_WINDOW + ", was " + window);
+        }
+        return trends.computeIfAbsent(metric.name() + ':' + window, key -> computeTrend(metric, window));
+    }
+
+    private DailyTrend computeTrend(DailyMetric metric, int window) {
+        long[] values = column(metric);
+        int n = values.length;
+        Double[] average = new Double[n];
+        Double[] growth = new Double[n];
+        Double[] doubling = new Double[n];
+
+        long runningSum = 0;
+        int peakDay = -1;
+        int peakAverageDay = -1;
+        double peakAverage = Double.NEGATIVE_INFINITY;
+
+        for (int d = 0; d < n; d++) {
+            long value = values[d];
+
+            runningSum += value;
+            if (d >= window) {
+                runningSum -= values[d - window];
+            }
+            if (d >= window - 1) {
+                double avg = (double) runningSum / window;
+                average[d] = avg;
+                if (avg > peakAverage) {
+                    peakAverage = avg;
+                    peakAverageDay = d;
+                }
+            }
+
+            if (d > 0 && values[d - 1] > 0) {
+                growth[d] = (value - values[d - 1]) * 100.0 / values[d - 1];
+            }
+
+            // Doubling time from the growth over the window: window * ln 2 / ln(v[d] / v[d - window]).
+            // Only defined while the value is actually growing.
+            if (d >= window && values[d - window] > 0 && value > values[d - window]) {
+                doubling[d] = window * LN2 / Math.log((double) value / values[d - window]);
+            }
+
+            if (peakDay < 0 || value > values[peakDay]) {
+                peakDay = d;
+            }
+        }
+
+        return new DailyTrend(metric.jsonName(), window, firstDate(), n, values.clone(), average, growth, doubling,
+                peakDay < 0 ? null : LocalDate.ofEpochDay(firstDay + peakDay),
+                peakDay < 0 ? 0 : values[peakDay],
+                peakAverageDay < 0 ? null : LocalDate.ofEpochDay(firstDay + peakAverageDay),
+                peakAverageDay < 0 ? null : peakAverage);
+    }
+
+    private DailySeries extendedTo(long day) {
+        long from = days() == 0 ? day : Math.min(firstDay, day);
+        long to = days() == 0 ? day : Math.max(firstDay + days() - 1, day);
+        int days = Math.toIntExact(to - from + 1);
+        int offset = days() == 0 ? 0 : (int) (firstDay - from);
+        DayWise[] rowsCopy = new DayWise[days];
+        System.arraycopy(rows, 0, rowsCopy, offset, rows.length);
+        long[][] copy = new long[METRICS.length][days];
+        for (DailyMetric metric : METRICS) {
+            System.arraycopy(columns[metric.ordinal()], 0, copy[metric.ordinal()], offset, rows.length);
+        }
+        fillGaps(copy, rowsCopy);
+        return new DailySeries(from, rowsCopy, copy);
+    }
+
+    // Carry cumulative metrics forward over missing days; daily increments stay 0.
+    private static void fillGaps(long[][] columns, DayWise[] byDay) {
+        for (int d = 1; d < byDay.length; d++) {
+            if (byDay[d] == null) {
+                carryOver(columns, d);
+            }
+        }
+    }
+
+    // Same for the run of missing days starting at from, up to the next day that has a row.
+    private static void carryForward(long[][] columns, DayWise[] byDay, int from) {
+        for (int d = Math.max(1, from); d < byDay.length && byDay[d] == null; d++) {
+            carryOver(columns, d);
+        }
+    }
+
+    private static void carryOver(long[][] columns, int d) {
+        for (DailyMetric metric : METRICS) {
+            if (!metric.name().startsWith("NEW_")) {
+                columns[metric.ordinal()][d] = columns[metric.ordinal()][d - 1];
+            }
+        }
+    }
+
+    private static long valueOf(DayWise row, DailyMetric metric) {
+        Long value = switch (metric) {
+            case CONFIRMED -> row.getConfirmed();
+            case DEATHS -> row.getDeaths();
+            case RECOVERED -> row.getRecovered();
+            case ACTIVE -> row.getActive();
+            case NEW_CASES -> row.getNewCases();
+            case NEW_DEATHS -> row.getNewDeaths();
+            case NEW_RECOVERED -> row.getNewRecovered();
+        };
+        return value == null ? 0 : value;
+    }
+}
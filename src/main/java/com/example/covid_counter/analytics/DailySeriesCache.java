@@ -0,0 +1,34 @@
+package com.example.covid_counter.analytics;
+
+import com.example.covid_counter.cache.TableSnapshotCache;
+import com.example.covid_counter.event.RowChangedEvent;
+import com.example.covid_counter.event.Tables;
+import com.example.covid_counter.model.DayWise;
+import com.example.covid_counter.repo.DayWiseRepo;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the {@link DailySeries} built from day_wise; day and range reads are served from it
+ * without touching the database. An update of one day swaps in a new
+ * series, which also drops every trend computed from the old one.
+ */
+@Component
+public class DailySeriesCache extends TableSnapshotCache<DailySeries> {
+
+    private final DayWiseRepo repo;
+
+    public DailySeriesCache(DayWiseRepo repo) {
+        super(Tables.DAY_WISE);
+        this.repo = repo;
+    }
+
+    @Override
+    protected DailySeries load() {
+        return DailySeries.of(repo.findAll().stream().map(RowChangedEvent::copyOf).toList());
+    }
+
+    @Override
+    protected DailySeries apply(DailySeries current, Object before, Object changedRow) {
+        return current.with((DayWise) changedRow);
+    }
+}
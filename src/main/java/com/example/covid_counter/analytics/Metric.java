@@ -0,0 +1,20 @@
+package com.example.covid_counter.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Numeric columns of the province-level dataset that analytics queries can aggregate.
+ */
+public enum Metric {
+    CONFIRMED, DEATHS, RECOVERED, ACTIVE;
+
+    /**
+     * @throws IllegalArgumentException for unknown names
+     */
+    public static Metric fromName(String name) {
+        return Arrays.stream(values())
+                .filter(m -> m.name().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown metric: " + name));
+    }
+}
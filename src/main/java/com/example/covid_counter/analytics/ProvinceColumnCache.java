@@ -0,0 +1,49 @@
+package com.example.covid_counter.analytics;
+
+import com.example.covid_counter.cache.TableSnapshotCache;
+import com.example.covid_counter.event.Tables;
+import com.example.covid_counter.ingest.CsvReader;
+import com.example.covid_counter.ingest.Dataset;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Holds the {@link ProvinceColumnStore}, built from the bundled covid_19_clean_complete.csv
+ * on first use and rebuilt whenever that dataset is re-ingested.
+ */
+@Component
+public class ProvinceColumnCache extends TableSnapshotCache<ProvinceColumnStore> {
+
+    private static final Logger log = LoggerFactory.getLogger(ProvinceColumnCache.class);
+
+    public ProvinceColumnCache() {
+        super(Tables.CLEAN_COMPLETE);
+    }
+
+    @Override
+    protected ProvinceColumnStore load() {
+        long started = System.nanoTime();
+        try (CsvReader reader = new CsvReader(new ClassPathResource(Dataset.CLEAN_COMPLETE.resource()).getInputStream())) {
+            ProvinceColumnStore store = ProvinceColumnStore.read(reader);
+            log.info("Built column store: {} rows, {} countries, {} days in {} ms ({} rejected)",
+                    store.size(), store.countries().size(), store.dayCount(),
+                    (System.nanoTime() - started) / 1_000_000, store.rejected());
+            return store;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + Dataset.CLEAN_COMPLETE.resource(), e);
+        }
+    }
+
+    /**
+     * The dataset has no row-level update path; it only changes through a full re-ingest.
+     */
+    @Override
+    protected ProvinceColumnStore apply(ProvinceColumnStore current, Object before, Object changedRow) {
+        return current;
+    }
+}
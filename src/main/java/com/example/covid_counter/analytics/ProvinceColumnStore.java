@@ -0,0 +1,340 @@
+package com.example.covid_counter.analytics;
+
+import com.example.covid_counter.cache.GeoGridIndex;
+import com.example.covid_counter.ingest.CsvReader;
+import com.example.covid_counter.ingest.CsvRow;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Column-oriented, in-memory copy of covid_19_clean_complete.csv (~49k province/day rows).
+ *
+ * Every column is a primitive array indexed by row number: dates are days since the epoch,
+ * country/province/region strings are dictionary ids. Aggregations are plain loops over
+ * these arrays and allocate only their result arrays, never one object per row.
+ *
+ * Each distinct (country, province) pair is a "place" with a fixed location. Places have
+ * a geo grid index, and placeRow[place * dayCount + day] finds a place's row on a day.
+ * Instances are immutable once built.
+ */
+public final class ProvinceColumnStore {
+
+    private final int size;
+    private final int minDay;
+    private final int dayCount;
+
+    private final int[] day;
+    private final int[] country;
+    private final int[] province;
+    private final int[] region;
+    private final double[] lat;
+    private final double[] lon;
+    private final long[] confirmed;
+    private final long[] deaths;
+    private final long[] recovered;
+    private final long[] active;
+
+    private final StringDictionary countries;
+    private final StringDictionary provinces;
+    private final StringDictionary regions;
+    private final long rejected;
+
+    private final int placeCount;
+    // A row of each place (for its names and coordinates); placeRow maps (place, day) to a row or -1.
+    private final int[] placeSampleRow;
+    private final int[] placeRow;
+    private final GeoGridIndex places;
+
+    private ProvinceColumnStore(Builder b) {
+        this.size = b.size;
+        this.day = Arrays.copyOf(b.day, size);
+        this.country = Arrays.copyOf(b.country, size);
+        this.province = Arrays.copyOf(b.province, size);
+        this.region = Arrays.copyOf(b.region, size);
+        this.lat = Arrays.copyOf(b.lat, size);
+        this.lon = Arrays.copyOf(b.lon, size);
+        this.confirmed = Arrays.copyOf(b.confirmed, size);
+        this.deaths = Arrays.copyOf(b.deaths, size);
+        this.recovered = Arrays.copyOf(b.recovered, size);
+        this.active = Arrays.copyOf(b.active, size);
+        this.countries = b.countries;
+        this.provinces = b.provinces;
+        this.regions = b.regions;
+        this.rejected = b.rejected;
+
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, day[i]);
+            max = Math.max(max, day[i]);
+        }
+        this.minDay = size == 0 ? 0 : min;
+        this.dayCount = size == 0 ? 0 : max - min + 1;
+
+        // Key a place by (country id, province id); province is -1 when blank.
+        Map<Long, Integer> placeIds = new HashMap<>();
+        int[] sampleRow = new int[16];
+        int[] placeOfRow = new int[size];
+        for (int i = 0; i < size; i++) {
+            long key = ((long) country[i] << 32) | (province[i] & 0xFFFFFFFFL);
+            Integer id = placeIds.get(key);
+            if (id == null) {
+                id = placeIds.size();
+                placeIds.put(key, id);
+                if (id == sampleRow.length) {
+                    sampleRow = Arrays.copyOf(sampleRow, id * 2);
+                }
+                sampleRow[id] = i;
+            }
+            placeOfRow[i] = id;
+        }
+        this.placeCount = placeIds.size();
+        this.placeSampleRow = Arrays.copyOf(sampleRow, placeCount);
+        this.placeRow = new int[placeCount * dayCount];
+        Arrays.fill(placeRow, -1);
+        for (int i = 0; i < size; i++) {
+            placeRow[placeOfRow[i] * dayCount + (day[i] - minDay)] = i;
+        }
+        double[] placeLat = new double[placeCount];
+        double[] placeLon = new double[placeCount];
+        for (int p = 0; p < placeCount; p++) {
+            placeLat[p] = lat[placeSampleRow[p]];
+            placeLon[p] = lon[placeSampleRow[p]];
+        }
+        this.places = GeoGridIndex.build(placeLat, placeLon, GeoGridIndex.DEFAULT_CELL_DEGREES);
+    }
+
+    /**
+     * Read the CSV (header first). Malformed rows are skipped and counted in {@link #rejected()}.
+     */
+    public static ProvinceColumnStore read(CsvReader reader) throws IOException {
+        Builder b = new Builder();
+        reader.next(); // header
+        while (reader.next()) {
+            b.add(reader.row());
+        }
+        return new ProvinceColumnStore(b);
+    }
+
+    // ---- Aggregations ----
+
+    /**
+     * Sum of a metric per WHO region per day: result[regionId][day - minDay()].
+     */
+    public long[][] sumByRegionPerDay(Metric metric) {
+        long[] values = column(metric);
+        long[][] sums = new long[regions.size()][dayCount];
+        for (int i = 0; i < size; i++) {
+            int r = region[i];
+            if (r >= 0) {
+                sums[r][day[i] - minDay] += values[i];
+            }
+        }
+        return sums;
+    }
+
+    /**
+     * Sum of a metric per WHO region on one day: result[regionId].
+     */
+    public long[] sumByRegionOnDay(Metric metric, int epochDay) {
+        long[] values = column(metric);
+        long[] sums = new long[regions.size()];
+        for (int i = 0; i < size; i++) {
+            if (day[i] == epochDay && region[i] >= 0) {
+                sums[region[i]] += values[i];
+            }
+        }
+        return sums;
+    }
+
+    /**
+     * Sum of a metric per country on one day: result[countryId].
+     */
+    public long[] sumByCountryOnDay(Metric metric, int epochDay) {
+        long[] values = column(metric);
+        long[] sums = new long[countries.size()];
+        for (int i = 0; i < size; i++) {
+            if (day[i] == epochDay) {
+                sums[country[i]] += values[i];
+            }
+        }
+        return sums;
+    }
+
+    /**
+     * Daily series of a metric for one country, summed over its provinces: result[day - minDay()].
+     */
+    public long[] countrySeries(Metric metric, int countryId) {
+        long[] values = column(metric);
+        long[] series = new long[dayCount];
+        for (int i = 0; i < size; i++) {
+            if (country[i] == countryId) {
+                series[day[i] - minDay] += values[i];
+            }
+        }
+        return series;
+    }
+
+    // ---- Column access ----
+
+    public long[] column(Metric metric) {
+        return switch (metric) {
+            case CONFIRMED -> confirmed;
+            case DEATHS -> deaths;
+            case RECOVERED -> recovered;
+            case ACTIVE -> active;
+        };
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int minDay() {
+        return minDay;
+    }
+
+    public int dayCount() {
+        return dayCount;
+    }
+
+    public int dayAt(int row) {
+        return day[row];
+    }
+
+    public int countryAt(int row) {
+        return country[row];
+    }
+
+    public int provinceAt(int row) {
+        return province[row];
+    }
+
+    public int regionAt(int row) {
+        return region[row];
+    }
+
+    public double latAt(int row) {
+        return lat[row];
+    }
+
+    public double lonAt(int row) {
+        return lon[row];
+    }
+
+    // ---- Places ----
+
+    public int placeCount() {
+        return placeCount;
+    }
+
+    /**
+     * Geo index over places; its ordinals are place ids.
+     */
+    public GeoGridIndex places() {
+        return places;
+    }
+
+    /**
+     * Some row of the place, for its country, province and coordinates.
+     */
+    public int placeSampleRow(int place) {
+        return placeSampleRow[place];
+    }
+
+    /**
+     * The place's row on a day, or -1 if it has none.
+     */
+    public int placeRow(int place, int epochDay) {
+        int d = epochDay - minDay;
+        return d >= 0 && d < dayCount ? placeRow[place * dayCount + d] : -1;
+    }
+
+    public StringDictionary countries() {
+        return countries;
+    }
+
+    public StringDictionary provinces() {
+        return provinces;
+    }
+
+    public StringDictionary regions() {
+        return regions;
+    }
+
+    public long rejected() {
+        return rejected;
+    }
+
+    /**
+     * Growable column buffers used while reading the CSV.
+     */
+    private static final class Builder {
+        int size;
+        long rejected;
+        int[] day = new int[1024];
+        int[] country = new int[1024];
+        int[] province = new int[1024];
+        int[] region = new int[1024];
+        double[] lat = new double[1024];
+        double[] lon = new double[1024];
+        long[] confirmed = new long[1024];
+        long[] deaths = new long[1024];
+        long[] recovered = new long[1024];
+        long[] active = new long[1024];
+        final StringDictionary countries = new StringDictionary();
+        final StringDictionary provinces = new StringDictionary();
+        final StringDictionary regions = new StringDictionary();
+
+        // CSV: Province/State,Country/Region,Lat,Long,Date,Confirmed,Deaths,Recovered,Active,WHO Region
+        void add(CsvRow row) {
+            int d;
+            long c, de, r, a;
+            try {
+                if (row.size() < 10 || row.isBlank(1)) {
+                    throw new IllegalArgumentException("incomplete row");
+                }
+                d = row.getEpochDay(4);
+                c = row.isBlank(5) ? 0 : row.getLong(5);
+                de = row.isBlank(6) ? 0 : row.getLong(6);
+                r = row.isBlank(7) ? 0 : row.getLong(7);
+                a = row.isBlank(8) ? 0 : row.getLong(8);
+            } catch (IllegalArgumentException e) {
+                rejected++;
+                return;
+            }
+            if (size == day.length) {
+                grow();
+            }
+            day[size] = d;
+            confirmed[size] = c;
+            deaths[size] = de;
+            recovered[size] = r;
+            active[size] = a;
+            lat[size] = row.getDouble(2);
+            lon[size] = row.getDouble(3);
+            // Dictionaries only allocate a String the first time a value is seen.
+            province[size] = provinces.encode(row, 0);
+            country[size] = countries.encode(row, 1);
+            region[size] = regions.encode(row, 9);
+            size++;
+        }
+
+        private void grow() {
+            int n = day.length * 2;
+            day = Arrays.copyOf(day, n);
+            country = Arrays.copyOf(country, n);
+            province = Arrays.copyOf(province, n);
+            region = Arrays.copyOf(region, n);
+            lat = Arrays.copyOf(lat, n);
+            lon = Arrays.copyOf(lon, n);
+            confirmed = Arrays.copyOf(confirmed, n);
+            deaths = Arrays.copyOf(deaths, n);
+            recovered = Arrays.copyOf(recovered, n);
+            active = Arrays.copyOf(active, n);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.covid_counter.analytics;
+
+import com.example.covid_counter.ingest.CsvRow;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Dictionary encoding for a string column: each distinct value gets a small int id,
+ * so the column itself is stored as an int[]. Blank values are encoded as -1.
+ *
+ * Encoding looks CSV fields up straight from the row buffer (open addressing on the
+ * field's hash), so a String is only created the first time a value is seen.
+ */
+public final class StringDictionary {
+
+    private final List<String> values = new ArrayList<>();
+    private final Map<String, Integer> foldedIds = new HashMap<>();
+    // id + 1 per slot, 0 = empty; capacity is a power of two kept at most half full.
+    private int[] slots = new int[64];
+
+    /**
+     * Id for the given CSV field, adding it if it is new. Used while a column store is built.
+     */
+    int encode(CsvRow row, int field) {
+        if (row.isBlank(field)) {
+            return -1;
+        }
+        int mask = slots.length - 1;
+        for (int i = spread(row.hashField(field)) & mask; ; i = (i + 1) & mask) {
+            int slot = slots[i];
+            if (slot == 0) {
+                return add(row.getString(field), i);
+            }
+            if (row.fieldEquals(field, values.get(slot - 1))) {
+                return slot - 1;
+            }
+        }
+    }
+
+    /**
+     * Id of value ignoring case, or -1 if it never occurs.
+     */
+    public int idOf(String value) {
+        if (value == null) {
+            return -1;
+        }
+        return foldedIds.getOrDefault(value.toLowerCase(Locale.ROOT), -1);
+    }
+
+    public String decode(int id) {
+        return id < 0 ? null : values.get(id);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    private int add(String value, int slot) {
+        int id = values.size();
+        values.add(value);
+        foldedIds.putIfAbsent(value.toLowerCase(Locale.ROOT), id);
+        slots[slot] = id + 1;
+        if (values.size() * 2 > slots.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    private void rehash() {
+        int[] bigger = new int[slots.length * 2];
+        int mask = bigger.length - 1;
+        for (int id = 0; id < values.size(); id++) {
+            int i = spread(values.get(id).hashCode()) & mask;
+            while (bigger[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            bigger[i] = id + 1;
+        }
+        slots = bigger;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+}
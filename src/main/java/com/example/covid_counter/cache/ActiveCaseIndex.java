@@ -0,0 +1,177 @@
+package com.example.covid_counter.cache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Sorted primitive index over the Active column of a snapshot.
+ *
+ * values[i] is an Active count and ordinals[i] the position of that row in the snapshot,
+ * sorted by (value, ordinal). Threshold queries are a binary search plus an array slice.
+ * Rows with a null Active are left out, just like SQL comparisons leave them out.
+ * Instances are immutable; {@link #replace} returns a new index.
+ */
+public final class ActiveCaseIndex {
+
+    private final long[] values;
+    private final int[] ordinals;
+
+    private ActiveCaseIndex(long[] values, int[] ordinals) {
+        this.values = values;
+        this.ordinals = ordinals;
+    }
+
+    /**
+     * Build the index for rows in snapshot order.
+     */
+    public static <T> ActiveCaseIndex build(List<T> rows, Function<T, Long> active) {
+        int count = 0;
+        long[] packedValues = new long[rows.size()];
+        int[] packedOrdinals = new int[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            Long value = active.apply(rows.get(i));
+            if (value != null) {
+                packedValues[count] = value;
+                packedOrdinals[count] = i;
+                count++;
+            }
+        }
+        // Sort (value, ordinal) pairs via an index permutation.
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) order[i] = i;
+        long[] v = packedValues;
+        int[] o = packedOrdinals;
+        Arrays.sort(order, (a, b) -> v[a] != v[b] ? Long.compare(v[a], v[b]) : Integer.compare(o[a], o[b]));
+
+        long[] values = new long[count];
+        int[] ordinals = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = v[order[i]];
+            ordinals[i] = o[order[i]];
+        }
+        return new ActiveCaseIndex(values, ordinals);
+    }
+
+    /**
+     * New index where the row at {@code ordinal} changed from oldValue to newValue
+     * (either may be null). Costs two array copies instead of a full re-sort.
+     */
+    public ActiveCaseIndex replace(int ordinal, Long oldValue, Long newValue) {
+        long[] newValues = values;
+        int[] newOrdinals = ordinals;
+        if (oldValue != null) {
+            int pos = find(oldValue, ordinal);
+            if (pos >= 0) {
+                newValues = new long[values.length - 1];
+                newOrdinals = new int[values.length - 1];
+                System.arraycopy(values, 0, newValues, 0, pos);
+                System.arraycopy(ordinals, 0, newOrdinals, 0, pos);
+                System.arraycopy(values, pos + 1, newValues, pos, values.length - pos - 1);
+                System.arraycopy(ordinals, pos + 1, newOrdinals, pos, values.length - pos - 1);
+            }
+        }
+        if (newValue != null) {
+            int pos = insertionPoint(newValues, newOrdinals, newValue, ordinal);
+            long[] grownValues = new long[newValues.length + 1];
+            int[] grownOrdinals = new int[newValues.length + 1];
+            System.arraycopy(newValues, 0, grownValues, 0, pos);
+            System.arraycopy(newOrdinals, 0, grownOrdinals, 0, pos);
+            grownValues[pos] = newValue;
+            grownOrdinals[pos] = ordinal;
+            System.arraycopy(newValues, pos, grownValues, pos + 1, newValues.length - pos);
+            System.arraycopy(newOrdinals, pos, grownOrdinals, pos + 1, newValues.length - pos);
+            newValues = grownValues;
+            newOrdinals = grownOrdinals;
+        }
+        return new ActiveCaseIndex(newValues, newOrdinals);
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Ordinals of rows with Active &lt; bound, in ascending ordinal order.
+     */
+    public int[] lessThan(long bound) {
+        return sortedSlice(0, lowerBound(bound));
+    }
+
+    /**
+     * Ordinals of rows with Active &gt; bound, in ascending ordinal order.
+     */
+    public int[] greaterThan(long bound) {
+        return sortedSlice(upperBound(bound), values.length);
+    }
+
+    /**
+     * Ordinals of rows with min &lt;= Active &lt;= max, in ascending ordinal order.
+     */
+    public int[] between(long min, long max) {
+        if (min > max) {
+            return new int[0];
+        }
+        return sortedSlice(lowerBound(min), upperBound(max));
+    }
+
+    /**
+     * Ordinals of the n rows with the highest Active, highest first.
+     */
+    public int[] top(int n) {
+        int count = Math.max(0, Math.min(n, values.length));
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = ordinals[values.length - 1 - i];
+        }
+        return result;
+    }
+
+    private int[] sortedSlice(int from, int to) {
+        int[] slice = Arrays.copyOfRange(ordinals, from, Math.max(from, to));
+        Arrays.sort(slice);
+        return slice;
+    }
+
+    // First position with values[i] >= key.
+    private int lowerBound(long key) {
+        int lo = 0;
+        int hi = values.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] < key) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    // First position with values[i] > key.
+    private int upperBound(long key) {
+        int lo = 0;
+        int hi = values.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] <= key) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    private int find(long value, int ordinal) {
+        for (int i = lowerBound(value); i < values.length && values[i] == value; i++) {
+            if (ordinals[i] == ordinal) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int insertionPoint(long[] values, int[] ordinals, long value, int ordinal) {
+        int lo = 0;
+        int hi = values.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            boolean before = values[mid] < value || (values[mid] == value && ordinals[mid] < ordinal);
+            if (before) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.covid_counter.cache;
+
+import com.example.covid_counter.event.Tables;
+import com.example.covid_counter.model.WorldometerData;
+import com.example.covid_counter.repo.WorldometerDataRepo;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static com.example.covid_counter.cache.RollupTable.orZero;
+
+/**
+ * Cases, deaths, active and population of worldometer_data summed per continent and per
+ * WHO region (the latter supplies the population for per-million rates of WHO regions).
+ * Loaded once, then updated from the before/after values of each row change.
+ */
+@Component
+public class ContinentRollupCache extends TableSnapshotCache<ContinentRollupCache.Snapshot> {
+
+    private final WorldometerDataRepo repo;
+
+    public ContinentRollupCache(WorldometerDataRepo repo) {
+        super(Tables.WORLDOMETER);
+        this.repo = repo;
+    }
+
+    @Override
+    protected Snapshot load() {
+        List<WorldometerData> rows = repo.findAll();
+        return new Snapshot(
+                RollupTable.build(rows, WorldometerData::getContinent, ContinentRollupCache::totals),
+                RollupTable.build(rows, WorldometerData::getWhoRegion, ContinentRollupCache::totals));
+    }
+
+    @Override
+    protected Snapshot apply(Snapshot current, Object before, Object changedRow) {
+        WorldometerData old = (WorldometerData) before;
+        WorldometerData changed = (WorldometerData) changedRow;
+        return new Snapshot(
+                current.byContinent().replace(old, changed, WorldometerData::getContinent, ContinentRollupCache::totals),
+                current.byWhoRegion().replace(old, changed, WorldometerData::getWhoRegion, ContinentRollupCache::totals));
+    }
+
+    private static RollupTable.Totals totals(WorldometerData row) {
+        return new RollupTable.Totals(1, orZero(row.getTotalCases()), orZero(row.getTotalDeaths()),
+                orZero(row.getActiveCases()), orZero(row.getPopulation()));
+    }
+
+    public record Snapshot(RollupTable byContinent, RollupTable byWhoRegion) {
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.covid_counter.cache;
+
+import com.example.covid_counter.event.RowChangedEvent;
+import com.example.covid_counter.event.Tables;
+import com.example.covid_counter.model.CountryWiseLatest;
+import com.example.covid_counter.repo.CountryWiseLatestRepo;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Read-through, in-memory copy of the country_wise_latest table (~190 rows).
+ * See {@link TableSnapshotCache} for how snapshots are loaded and swapped.
+ */
+@Component
+public class CountryWiseLatestCache extends TableSnapshotCache<CountryWiseLatestCache.Snapshot> {
+
+    private final CountryWiseLatestRepo repo;
+
+    public CountryWiseLatestCache(CountryWiseLatestRepo repo) {
+        super(Tables.COUNTRY_WISE_LATEST);
+        this.repo = repo;
+    }
+
+    @Override
+    protected Snapshot load() {
+        return new Snapshot(repo.findAll().stream().map(RowChangedEvent::copyOf).toList());
+    }
+
+    @Override
+    protected Snapshot apply(Snapshot current, Object before, Object changedRow) {
+        return current.with((CountryWiseLatest) changedRow);
+    }
+
+    /**
+     * Immutable view of the whole table plus lookup maps and the Active index.
+     */
+    public static final class Snapshot {
+
+        private final List<CountryWiseLatest> all;
+        private final Map<String, CountryWiseLatest> byCountry;
+        private final Map<String, List<CountryWiseLatest>> byWhoRegion;
+        private final ActiveCaseIndex activeIndex;
+
+        Snapshot(List<CountryWiseLatest> rows) {
+            List<CountryWiseLatest> sorted = new ArrayList<>(rows);
+            sorted.sort(Comparator.comparing(CountryWiseLatest::getCountryRegion, String.CASE_INSENSITIVE_ORDER));
+            this.all = Collections.unmodifiableList(sorted);
+            this.byCountry = indexByCountry(sorted);
+            this.byWhoRegion = indexByWhoRegion(sorted);
+            this.activeIndex = ActiveCaseIndex.build(sorted, CountryWiseLatest::getActive);
+        }
+
+        private Snapshot(List<CountryWiseLatest> sorted, ActiveCaseIndex activeIndex) {
+            this.all = Collections.unmodifiableList(sorted);
+            this.byCountry = indexByCountry(sorted);
+            this.byWhoRegion = indexByWhoRegion(sorted);
+            this.activeIndex = activeIndex;
+        }
+
+        /**
+         * Copy of this snapshot with one row replaced (or added).
+         * Replacing keeps every ordinal stable, so the Active index is patched rather than rebuilt.
+         */
+        Snapshot with(CountryWiseLatest changed) {
+            int ordinal = ordinalOf(changed.getCountryRegion());
+            if (ordinal < 0) {
+                List<CountryWiseLatest> rows = new ArrayList<>(all);
+                rows.add(changed);
+                return new Snapshot(rows);
+            }
+            List<CountryWiseLatest> rows = new ArrayList<>(all);
+            CountryWiseLatest previous = rows.set(ordinal, changed);
+            return new Snapshot(rows, activeIndex.replace(ordinal, previous.getActive(), changed.getActive()));
+        }
+
+        /**
+         * All rows, ordered by country.
+         */
+        public List<CountryWiseLatest> all() {
+            return all;
+        }
+
+        public CountryWiseLatest byCountry(String country) {
+            return byCountry.get(country);
+        }
+
+        public List<CountryWiseLatest> byWhoRegion(String whoRegion) {
+            return byWhoRegion.getOrDefault(whoRegion, List.of());
+        }
+
+        public List<CountryWiseLatest> activeLessThan(long bound) {
+            return rows(activeIndex.lessThan(bound));
+        }
+
+        public List<CountryWiseLatest> activeGreaterThan(long bound) {
+            return rows(activeIndex.greaterThan(bound));
+        }
+
+        /**
+         * Rows with min &lt;= Active &lt;= max, ordered by country.
+         */
+        public List<CountryWiseLatest> activeBetween(long min, long max) {
+            return rows(activeIndex.between(min, max));
+        }
+
+        /**
+         * The n rows with the most active cases, highest first.
+         */
+        public List<CountryWiseLatest> topActive(int n) {
+            return rows(activeIndex.top(n));
+        }
+
+        private List<CountryWiseLatest> rows(int[] ordinals) {
+            CountryWiseLatest[] result = new CountryWiseLatest[ordinals.length];
+            for (int i = 0; i < ordinals.length; i++) {
+                result[i] = all.get(ordinals[i]);
+            }
+            return List.of(result);
+        }
+
+        private int ordinalOf(String country) {
+            int lo = 0;
+            int hi = all.size() - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                int cmp = String.CASE_INSENSITIVE_ORDER.compare(all.get(mid).getCountryRegion(), country);
+                if (cmp < 0) lo = mid + 1;
+                else if (cmp > 0) hi = mid - 1;
+                else return mid;
+            }
+            return -1;
+        }
+
+        // MySQL compares these columns case-insensitively, so the lookups do too.
+        private static Map<String, CountryWiseLatest> indexByCountry(List<CountryWiseLatest> rows) {
+            Map<String, CountryWiseLatest> countries = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (CountryWiseLatest row : rows) {
+                countries.put(row.getCountryRegion(), row);
+            }
+            return Collections.unmodifiableMap(countries);
+        }
+
+        private static Map<String, List<CountryWiseLatest>> indexByWhoRegion(List<CountryWiseLatest> rows) {
+            Map<String, List<CountryWiseLatest>> regions = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (CountryWiseLatest row : rows) {
+                if (row.getWhoRegion() != null) {
+                    regions.computeIfAbsent(row.getWhoRegion(), r -> new ArrayList<>()).add(row);
+                }
+            }
+            regions.replaceAll((region, list) -> List.copyOf(list));
+            return Collections.unmodifiableMap(regions);
+        }
+    }
+}
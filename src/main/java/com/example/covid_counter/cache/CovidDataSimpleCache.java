@@ -0,0 +1,93 @@
+package com.example.covid_counter.cache;
+
+import com.example.covid_counter.event.RowChangedEvent;
+import com.example.covid_counter.event.Tables;
+import com.example.covid_counter.model.CovidDataSimple;
+import com.example.covid_counter.repo.CovidDataSimpleRepo;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Read-through, in-memory copy of covid_data_1000_records_simple_id (~1000 rows)
+ * with prefix indexes on country and region and a lat/long grid index.
+ */
+@Component
+public class CovidDataSimpleCache extends TableSnapshotCache<CovidDataSimpleCache.Snapshot> {
+
+    private final CovidDataSimpleRepo repo;
+
+    public CovidDataSimpleCache(CovidDataSimpleRepo repo) {
+        super(Tables.COVID_DATA);
+        this.repo = repo;
+    }
+
+    @Override
+    protected Snapshot load() {
+        return new Snapshot(repo.findAll().stream().map(RowChangedEvent::copyOf).toList());
+    }
+
+    @Override
+    protected Snapshot apply(Snapshot current, Object before, Object changedRow) {
+        CovidDataSimple changed = (CovidDataSimple) changedRow;
+        List<CovidDataSimple> rows = new ArrayList<>(current.all().size() + 1);
+        for (CovidDataSimple row : current.all()) {
+            if (!row.getRecordId().equals(changed.getRecordId())) {
+                rows.add(row);
+            }
+        }
+        rows.add(changed);
+        return new Snapshot(rows);
+    }
+
+    /**
+     * Immutable view of the whole table plus its prefix indexes.
+     */
+    public static final class Snapshot {
+
+        private final List<CovidDataSimple> all;
+        private final PrefixIndex<CovidDataSimple> byCountry;
+        private final PrefixIndex<CovidDataSimple> byRegion;
+        // Built on first use; a benign race at worst builds it twice.
+        private volatile GeoGridIndex geo;
+
+        Snapshot(List<CovidDataSimple> rows) {
+            List<CovidDataSimple> sorted = new ArrayList<>(rows);
+            sorted.sort(Comparator.comparing(CovidDataSimple::getRecordId));
+            this.all = Collections.unmodifiableList(sorted);
+            this.byCountry = PrefixIndex.build(sorted, CovidDataSimple::getCountry);
+            this.byRegion = PrefixIndex.build(sorted, CovidDataSimple::getRegion);
+        }
+
+        /**
+         * All rows, ordered by record_id.
+         */
+        public List<CovidDataSimple> all() {
+            return all;
+        }
+
+        public PrefixIndex<CovidDataSimple> byCountry() {
+            return byCountry;
+        }
+
+        public PrefixIndex<CovidDataSimple> byRegion() {
+            return byRegion;
+        }
+
+        /**
+         * Lat/long grid over the rows; its ordinals are positions in {@link #all()}.
+         */
+        public GeoGridIndex geo() {
+            GeoGridIndex index = geo;
+            if (index == null) {
+                index = GeoGridIndex.build(all, CovidDataSimple::getLatitude, CovidDataSimple::getLongitude,
+                        GeoGridIndex.DEFAULT_CELL_DEGREES);
+                geo = index;
+            }
+            return index;
+        }
+    }
+}
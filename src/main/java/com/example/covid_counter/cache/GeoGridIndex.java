@@ -0,0 +1,295 @@
+package com.example.covid_counter.cache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Uniform latitude/longitude grid over a set of points, held in primitive arrays.
+ *
+ * The globe is cut into square cells of cellDegrees. Points are stored grouped by cell:
+ * the points of cell c are at positions cellStart[c] .. cellStart[c + 1] - 1 of the
+ * ordinals/lat/lon arrays. A query only walks the cells its box overlaps and checks the exact
+ * condition on the points inside them, so the cost depends on the area asked for, not on the
+ * table size. Ordinals are positions in the caller's row list; points without coordinates are
+ * left out. Instances are immutable.
+ */
+public final class GeoGridIndex {
+
+    public static final double DEFAULT_CELL_DEGREES = 2.0;
+
+    // Mean Earth radius (IUGG).
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE_LAT = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private final double cellDegrees;
+    private final int latCells;
+    private final int lonCells;
+    private final int[] cellStart;
+    private final int[] ordinals;
+    private final double[] lat;
+    private final double[] lon;
+
+    private GeoGridIndex(double cellDegrees, int latCells, int lonCells,
+                         int[] cellStart, int[] ordinals, double[] lat, double[] lon) {
+        this.cellDegrees = cellDegrees;
+        this.latCells = latCells;
+        this.lonCells = lonCells;
+        this.cellStart = cellStart;
+        this.ordinals = ordinals;
+        this.lat = lat;
+        this.lon = lon;
+    }
+
+    /**
+     * Build the index for rows in snapshot order; null coordinates are skipped.
+     */
+    public static <T> GeoGridIndex build(List<T> rows, Function<T, Double> latitude, Function<T, Double> longitude,
+                                         double cellDegrees) {
+        double[] lats = new double[rows.size()];
+        double[] lons = new double[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            Double la = latitude.apply(rows.get(i));
+            Double lo = longitude.apply(rows.get(i));
+            lats[i] = la == null ? Double.NaN : la;
+            lons[i] = lo == null ? Double.NaN : lo;
+        }
+        return build(lats, lons, cellDegrees);
+    }
+
+    /**
+     * Build the index for points 0..n-1. NaN or out-of-range coordinates are skipped.
+     */
+    public static GeoGridIndex build(double[] latitudes, double[] longitudes, double cellDegrees) {
+        if (!(cellDegrees > 0 && cellDegrees <= 90)) {
+            throw new IllegalArgumentException("cellDegrees must be in (0, 90], was " + cellDegrees);
+        }
+        int latCells = (int) Math.ceil(180 / cellDegrees);
+        int lonCells = (int) Math.ceil(360 / cellDegrees);
+
+        // Counting sort by cell: count, prefix-sum into start offsets, then place.
+        int[] cellOfPoint = new int[latitudes.length];
+        int[] cellStart = new int[latCells * lonCells + 1];
+        int count = 0;
+        for (int i = 0; i < latitudes.length; i++) {
+            if (isValid(latitudes[i], longitudes[i])) {
+                cellOfPoint[i] = bucket(latitudes[i] + 90, cellDegrees, latCells) * lonCells
+                        + bucket(longitudes[i] + 180, cellDegrees, lonCells);
+                cellStart[cellOfPoint[i] + 1]++;
+                count++;
+            } else {
+                cellOfPoint[i] = -1;
+            }
+        }
+        for (int c = 0; c < latCells * lonCells; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+
+        int[] next = Arrays.copyOf(cellStart, cellStart.length - 1);
+        int[] ordinals = new int[count];
+        double[] lat = new double[count];
+        double[] lon = new double[count];
+        for (int i = 0; i < latitudes.length; i++) {
+            if (cellOfPoint[i] >= 0) {
+                int slot = next[cellOfPoint[i]]++;
+                ordinals[slot] = i;
+                lat[slot] = latitudes[i];
+                lon[slot] = longitudes[i];
+            }
+        }
+        return new GeoGridIndex(cellDegrees, latCells, lonCells, cellStart, ordinals, lat, lon);
+    }
+
+    public int size() {
+        return ordinals.length;
+    }
+
+    /**
+     * Ordinals of the points inside a box, ascending. west &gt; east means the box crosses
+     * the antimeridian (e.g. west=170, east=-170).
+     *
+     * @throws IllegalArgumentException for coordinates out of range or south &gt; north
+     */
+    public int[] withinBox(double south, double west, double north, double east) {
+        checkLat(south);
+        checkLat(north);
+        checkLon(west);
+        checkLon(east);
+        if (south > north) {
+            throw new IllegalArgumentException("south must not be greater than north");
+        }
+        IntList hits = new IntList();
+        scan(south, west, north, east, slot -> {
+            if (lat[slot] >= south && lat[slot] <= north && lonInside(lon[slot], west, east)) {
+                hits.add(ordinals[slot]);
+            }
+        });
+        int[] result = hits.toArray();
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Ordinals of the points within radiusKm of (latitude, longitude), nearest first,
+     * at most limit of them. Distances are great-circle (haversine).
+     *
+     * @throws IllegalArgumentException for coordinates out of range or a negative radius
+     */
+    public int[] near(double latitude, double longitude, double radiusKm, int limit) {
+        checkLat(latitude);
+        checkLon(longitude);
+        if (!(radiusKm >= 0)) {
+            throw new IllegalArgumentException("radiusKm must not be negative");
+        }
+
+        // Bounding box of the circle. Near a pole, or for very large circles, it spans every longitude.
+        double dLat = radiusKm / KM_PER_DEGREE_LAT;
+        double south = Math.max(-90, latitude - dLat);
+        double north = Math.min(90, latitude + dLat);
+        double west = -180;
+        double east = 180;
+        double widestLat = Math.max(Math.abs(south), Math.abs(north));
+        if (north < 90 && south > -90) {
+            double dLon = dLat / Math.cos(Math.toRadians(widestLat));
+            if (dLon < 180) {
+                west = wrapLon(longitude - dLon);
+                east = wrapLon(longitude + dLon);
+            }
+        }
+
+        // Sort key: the float distance bits (monotonic for non-negative floats) above the ordinal.
+        LongList hits = new LongList();
+        scan(south, west, north, east, slot -> {
+            double km = distanceKm(latitude, longitude, lat[slot], lon[slot]);
+            if (km <= radiusKm) {
+                hits.add(((long) Float.floatToIntBits((float) km) << 32) | ordinals[slot]);
+            }
+        });
+        long[] keys = hits.toArray();
+        Arrays.sort(keys);
+        int[] result = new int[Math.min(keys.length, Math.max(limit, 0))];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (int) keys[i];
+        }
+        return result;
+    }
+
+    /**
+     * Great-circle distance in km between two points given in degrees.
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double phi1 = Math.toRadians(lat1);
+        double phi2 = Math.toRadians(lat2);
+        double sinDLat = Math.sin((phi2 - phi1) / 2);
+        double sinDLon = Math.sin(Math.toRadians(lon2 - lon1) / 2);
+        double a = sinDLat * sinDLat + Math.cos(phi1) * Math.cos(phi2) * sinDLon * sinDLon;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    // Visit every point slot in the cells overlapping the box.
+    private void scan(double south, double west, double north, double east, SlotVisitor visitor) {
+        int fromRow = latCell(south);
+        int toRow = latCell(north);
+        int fromCol = lonCell(west);
+        int toCol = lonCell(east);
+        for (int r = fromRow; r <= toRow; r++) {
+            if (west <= east) {
+                scanCols(r, fromCol, toCol, visitor);
+            } else if (fromCol <= toCol) {
+                // Wraps almost all the way round with both edges in one cell: every column, once.
+                scanCols(r, 0, lonCells - 1, visitor);
+            } else {
+                scanCols(r, fromCol, lonCells - 1, visitor);
+                scanCols(r, 0, toCol, visitor);
+            }
+        }
+    }
+
+    private void scanCols(int row, int fromCol, int toCol, SlotVisitor visitor) {
+        // Cells of one latitude band are adjacent, so a run of columns is one slot range.
+        int from = cellStart[row * lonCells + fromCol];
+        int to = cellStart[row * lonCells + toCol + 1];
+        for (int slot = from; slot < to; slot++) {
+            visitor.visit(slot);
+        }
+    }
+
+    private int latCell(double latitude) {
+        return bucket(latitude + 90, cellDegrees, latCells);
+    }
+
+    private int lonCell(double longitude) {
+        return bucket(longitude + 180, cellDegrees, lonCells);
+    }
+
+    // Cell number along one axis; the last cell also takes the upper edge (lat 90, lon 180).
+    private static int bucket(double shifted, double cellDegrees, int cells) {
+        return Math.min(cells - 1, Math.max(0, (int) Math.floor(shifted / cellDegrees)));
+    }
+
+    private static boolean lonInside(double longitude, double west, double east) {
+        return west <= east
+                ? longitude >= west && longitude <= east
+                : longitude >= west || longitude <= east;
+    }
+
+    private static double wrapLon(double longitude) {
+        if (longitude < -180) {
+            return longitude + 360;
+        }
+        return longitude > 180 ? longitude - 360 : longitude;
+    }
+
+    private static boolean isValid(double latitude, double longitude) {
+        return latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180;
+    }
+
+    private static void checkLat(double latitude) {
+        if (!(latitude >= -90 && latitude <= 90)) {
+            throw new IllegalArgumentException("latitude must be between -90 and 90, was " + latitude);
+        }
+    }
+
+    private static void checkLon(double longitude) {
+        if (!(longitude >= -180 && longitude <= 180)) {
+            throw new IllegalArgumentException("longitude must be between -180 and 180, was " + longitude);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SlotVisitor {
+        void visit(int slot);
+    }
+
+    private static final class IntList {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class LongList {
+        private long[] values = new long[16];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.covid_counter.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Case-insensitive prefix index: rows sorted by a lower-cased key.
+ *
+ * All rows whose key starts with a prefix sit next to each other, so a prefix filter is
+ * two binary searches and a slice copy, instead of MySQL's unindexable lower(col) LIKE 'x%'.
+ * Rows with a null key are left out. Instances are immutable.
+ */
+public final class PrefixIndex<T> {
+
+    private final String[] keys;
+    private final Object[] rows;
+
+    private PrefixIndex(String[] keys, Object[] rows) {
+        this.keys = keys;
+        this.rows = rows;
+    }
+
+    /**
+     * Index rows by key; rows with equal keys keep their list order.
+     */
+    public static <T> PrefixIndex<T> build(List<T> rows, Function<T, String> key) {
+        List<Object[]> entries = new ArrayList<>(rows.size());
+        for (T row : rows) {
+            String k = key.apply(row);
+            if (k != null) {
+                entries.add(new Object[] {fold(k), row});
+            }
+        }
+        entries.sort(Comparator.comparing(e -> (String) e[0]));
+        String[] keys = new String[entries.size()];
+        Object[] values = new Object[entries.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = (String) entries.get(i)[0];
+            values[i] = entries.get(i)[1];
+        }
+        return new PrefixIndex<>(keys, values);
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Every row whose key starts with prefix (ignoring case), in key order.
+     */
+    public List<T> startingWith(String prefix) {
+        String p = fold(prefix);
+        int from = lowerBound(p);
+        int to = prefixEnd(p, from);
+        return slice(from, to);
+    }
+
+    /**
+     * Up to limit rows whose key starts with prefix, best match first:
+     * an exact key match, then by the given rank, then by key.
+     */
+    public List<T> search(String prefix, int limit, Comparator<? super T> rank) {
+        String p = fold(prefix);
+        int from = lowerBound(p);
+        int to = prefixEnd(p, from);
+        Integer[] positions = new Integer[to - from];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = from + i;
+        }
+        Comparator<Integer> order = Comparator
+                .<Integer>comparingInt(i -> keys[i].length() == p.length() ? 0 : 1)
+                .thenComparing(i -> row(i), rank)
+                .thenComparing(i -> keys[i]);
+        Arrays.sort(positions, order);
+
+        int count = Math.max(0, Math.min(limit, positions.length));
+        List<T> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(row(positions[i]));
+        }
+        return result;
+    }
+
+    /**
+     * True when key starts with prefix, using the same case folding as the index.
+     */
+    public static boolean matches(String key, String prefix) {
+        return key != null && fold(key).startsWith(fold(prefix));
+    }
+
+    private static String fold(String s) {
+        return s.toLowerCase(Locale.ROOT);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T row(int i) {
+        return (T) rows[i];
+    }
+
+    private List<T> slice(int from, int to) {
+        List<T> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            result.add(row(i));
+        }
+        return List.copyOf(result);
+    }
+
+    // First position with keys[i] >= prefix.
+    private int lowerBound(String prefix) {
+        int lo = 0;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    // First position at or after from whose key no longer starts with prefix.
+    private int prefixEnd(String prefix, int from) {
+        int lo = from;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].startsWith(prefix)) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+}
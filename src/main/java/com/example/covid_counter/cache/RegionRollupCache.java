@@ -0,0 +1,39 @@
+package com.example.covid_counter.cache;
+
+import com.example.covid_counter.event.Tables;
+import com.example.covid_counter.model.CountryWiseLatest;
+import com.example.covid_counter.repo.CountryWiseLatestRepo;
+import org.springframework.stereotype.Component;
+
+import static com.example.covid_counter.cache.RollupTable.orZero;
+
+/**
+ * Confirmed, deaths and active of country_wise_latest summed per WHO region.
+ * Loaded once, then updated from the before/after values of each row change.
+ */
+@Component
+public class RegionRollupCache extends TableSnapshotCache<RollupTable> {
+
+    private final CountryWiseLatestRepo repo;
+
+    public RegionRollupCache(CountryWiseLatestRepo repo) {
+        super(Tables.COUNTRY_WISE_LATEST);
+        this.repo = repo;
+    }
+
+    @Override
+    protected RollupTable load() {
+        return RollupTable.build(repo.findAll(), CountryWiseLatest::getWhoRegion, RegionRollupCache::totals);
+    }
+
+    @Override
+    protected RollupTable apply(RollupTable current, Object before, Object changedRow) {
+        return current.replace((CountryWiseLatest) before, (CountryWiseLatest) changedRow,
+                CountryWiseLatest::getWhoRegion, RegionRollupCache::totals);
+    }
+
+    private static RollupTable.Totals totals(CountryWiseLatest row) {
+        return new RollupTable.Totals(1, orZero(row.getConfirmed()), orZero(row.getDeaths()),
+                orZero(row.getActive()), 0);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.covid_counter.cache;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Immutable running totals per group key (e.g. per WHO region).
+ *
+ * Built once from all rows, then kept current by {@link #replace}: the old row's figures are
+ * subtracted from its group and the new row's added to its group, so a change costs one
+ * or two small map copies instead of a pass over the table.
+ */
+public final class RollupTable {
+
+    static final String UNKNOWN = "Unknown";
+
+    /**
+     * Summed figures of one group. population is 0 when the source table has none.
+     */
+    public record Totals(long rows, long confirmed, long deaths, long active, long population) {
+
+        static final Totals ZERO = new Totals(0, 0, 0, 0, 0);
+
+        Totals plus(Totals o) {
+            return new Totals(rows + o.rows, confirmed + o.confirmed, deaths + o.deaths,
+                    active + o.active, population + o.population);
+        }
+
+        Totals minus(Totals o) {
+            return new Totals(rows - o.rows, confirmed - o.confirmed, deaths - o.deaths,
+                    active - o.active, population - o.population);
+        }
+    }
+
+    private final Map<String, Totals> groups;
+
+    private RollupTable(Map<String, Totals> groups) {
+        this.groups = Collections.unmodifiableMap(groups);
+    }
+
+    /**
+     * Sum all rows into their groups. Rows with no key go into "Unknown".
+     *
+     * @param key    group of a row
+     * @param totals figures of a single row (with rows = 1)
+     */
+    public static <T> RollupTable build(List<T> rows, Function<T, String> key, Function<T, Totals> totals) {
+        Map<String, Totals> groups = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (T row : rows) {
+            groups.merge(keyOf(key.apply(row)), totals.apply(row), Totals::plus);
+        }
+        return new RollupTable(groups);
+    }
+
+    /**
+     * Copy with one row's contribution swapped: before is removed, after is added.
+     * Either side may be null (row inserted or deleted).
+     */
+    public <T> RollupTable replace(T before, T after, Function<T, String> key, Function<T, Totals> totals) {
+        Map<String, Totals> next = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        next.putAll(groups);
+        if (before != null) {
+            String k = keyOf(key.apply(before));
+            Totals t = next.getOrDefault(k, Totals.ZERO).minus(totals.apply(before));
+            if (t.rows() <= 0) {
+                next.remove(k);
+            } else {
+                next.put(k, t);
+            }
+        }
+        if (after != null) {
+            next.merge(keyOf(key.apply(after)), totals.apply(after), Totals::plus);
+        }
+        return new RollupTable(next);
+    }
+
+    /**
+     * Groups ordered by key.
+     */
+    public Map<String, Totals> groups() {
+        return groups;
+    }
+
+    private static String keyOf(String key) {
+        return key == null || key.isBlank() ? UNKNOWN : key;
+    }
+
+    static long orZero(Long value) {
+        return value == null ? 0 : value;
+    }
+}
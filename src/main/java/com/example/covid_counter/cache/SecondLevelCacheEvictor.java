@@ -0,0 +1,55 @@
+package com.example.covid_counter.cache;
+
+import com.example.covid_counter.event.TableReloadedEvent;
+import com.example.covid_counter.event.Tables;
+import com.example.covid_counter.model.CountryWiseLatest;
+import com.example.covid_counter.model.CovidDataSimple;
+import com.example.covid_counter.model.DayWise;
+import com.example.covid_counter.model.WorldometerData;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Keeps the Hibernate second-level cache right after bulk writes.
+ *
+ * Changes saved through JPA update the cached entities by themselves. CSV ingest, the
+ * recompute and the date migration write with plain SQL, which Hibernate never sees, so
+ * their {@link TableReloadedEvent} drops the table's region.
+ */
+@Component
+public class SecondLevelCacheEvictor {
+
+    private static final Logger log = LoggerFactory.getLogger(SecondLevelCacheEvictor.class);
+
+    private static final Map<String, Class<?>> ENTITIES = Map.of(
+            Tables.COUNTRY_WISE_LATEST, CountryWiseLatest.class,
+            Tables.WORLDOMETER, WorldometerData.class,
+            Tables.DAY_WISE, DayWise.class,
+            Tables.COVID_DATA, CovidDataSimple.class);
+
+    private final Cache cache;
+
+    public SecondLevelCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+
+    // Before the snapshot caches (@Order(0)) reload, so they never read evicted-to-be entries.
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener
+    public void onTableReloaded(TableReloadedEvent event) {
+        Class<?> entity = ENTITIES.get(event.table());
+        if (entity == null) {
+            return;
+        }
+        cache.evictEntityData(entity);
+        log.info("Evicted second-level cache region of {}", event.table());
+    }
+}
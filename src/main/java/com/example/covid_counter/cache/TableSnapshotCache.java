@@ -0,0 +1,89 @@
+package com.example.covid_counter.cache;
+
+import com.example.covid_counter.event.RowChangedEvent;
+import com.example.covid_counter.event.TableReloadedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base class for read-through, in-memory copies of a small table.
+ *
+ * Readers get an immutable snapshot with no locking. A {@link RowChangedEvent} for the table
+ * swaps in a new snapshot after the writer's transaction commits; a {@link TableReloadedEvent}
+ * drops the snapshot so the next read loads it again.
+ *
+ * @param <S> immutable snapshot type
+ */
+public abstract class TableSnapshotCache<S> {
+
+    private final String table;
+
+    private volatile S snapshot;
+    // Bumped on every change; a load only installs its result if nothing changed meanwhile.
+    private final AtomicLong changes = new AtomicLong();
+
+    protected TableSnapshotCache(String table) {
+        this.table = table;
+    }
+
+    /**
+     * Current snapshot, loading it from the DB on first use or after a reload.
+     */
+    public S snapshot() {
+        S current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        long seen = changes.get();
+        S loaded = load();
+        synchronized (this) {
+            if (snapshot == null && changes.get() == seen) {
+                snapshot = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Read the whole table into a new snapshot.
+     */
+    protected abstract S load();
+
+    /**
+     * New snapshot with one committed row change applied.
+     *
+     * @param before     detached copy of the row before the update (for delta-maintained totals)
+     * @param changedRow detached copy of the row after the update
+     */
+    protected abstract S apply(S current, Object before, Object changedRow);
+
+    // Runs before TableVersions bumps the ETag, so a new ETag never goes out with old data.
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRowChanged(RowChangedEvent event) {
+        if (!table.equals(event.table())) {
+            return;
+        }
+        synchronized (this) {
+            changes.incrementAndGet();
+            if (snapshot != null) {
+                snapshot = apply(snapshot, event.before(), event.after());
+            }
+        }
+    }
+
+    @Order(0)
+    @EventListener
+    public void onTableReloaded(TableReloadedEvent event) {
+        if (!table.equals(event.table())) {
+            return;
+        }
+        synchronized (this) {
+            changes.incrementAndGet();
+            snapshot = null;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.covid_counter.cache;
+
+import com.example.covid_counter.event.RowChangedEvent;
+import com.example.covid_counter.event.Tables;
+import com.example.covid_counter.model.WorldometerColumns;
+import com.example.covid_counter.model.WorldometerData;
+import com.example.covid_counter.repo.WorldometerDataRepo;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Read-through, in-memory copy of worldometer_data (~210 rows) with prefix indexes
+ * on country and continent for search-as-you-type.
+ */
+@Component
+public class WorldometerCache extends TableSnapshotCache<WorldometerCache.Snapshot> {
+
+    private final WorldometerDataRepo repo;
+
+    public WorldometerCache(WorldometerDataRepo repo) {
+        super(Tables.WORLDOMETER);
+        this.repo = repo;
+    }
+
+    @Override
+    protected Snapshot load() {
+        return new Snapshot(repo.findAll().stream().map(RowChangedEvent::copyOf).toList());
+    }
+
+    @Override
+    protected Snapshot apply(Snapshot current, Object before, Object changedRow) {
+        WorldometerData changed = (WorldometerData) changedRow;
+        List<WorldometerData> rows = new ArrayList<>(current.all().size() + 1);
+        for (WorldometerData row : current.all()) {
+            if (!row.getCountryRegion().equalsIgnoreCase(changed.getCountryRegion())) {
+                rows.add(row);
+            }
+        }
+        rows.add(changed);
+        return new Snapshot(rows);
+    }
+
+    /**
+     * Immutable view of the whole table plus its prefix indexes.
+     */
+    public static final class Snapshot {
+
+        private final List<WorldometerData> all;
+        private final PrefixIndex<WorldometerData> byCountry;
+        private final PrefixIndex<WorldometerData> byContinent;
+        // Built on first use; a benign race at worst builds it twice.
+        private volatile WorldometerColumns columns;
+
+        Snapshot(List<WorldometerData> rows) {
+            List<WorldometerData> sorted = new ArrayList<>(rows);
+            sorted.sort(Comparator.comparing(WorldometerData::getCountryRegion, String.CASE_INSENSITIVE_ORDER));
+            this.all = Collections.unmodifiableList(sorted);
+            this.byCountry = PrefixIndex.build(sorted, WorldometerData::getCountryRegion);
+            this.byContinent = PrefixIndex.build(sorted, WorldometerData::getContinent);
+        }
+
+        /**
+         * All rows, ordered by country.
+         */
+        public List<WorldometerData> all() {
+            return all;
+        }
+
+        public PrefixIndex<WorldometerData> byCountry() {
+            return byCountry;
+        }
+
+        public PrefixIndex<WorldometerData> byContinent() {
+            return byContinent;
+        }
+
+        /**
+         * All rows in columnar form, same order as {@link #all()}.
+         */
+        public WorldometerColumns columns() {
+            WorldometerColumns c = columns;
+            if (c == null) {
+                c = WorldometerColumns.of(all);
+                columns = c;
+            }
+            return c;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.covid_counter.config;
+
+import com.example.covid_counter.repo.CacheRegions;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertyResolver;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Caffeine-backed JCache regions for Hibernate's second-level (entity) cache.
+ *
+ * Every region is created here up front with its own size bound and expiry, and Hibernate is
+ * told to fail on any region it does not find (hibernate.javax.cache.missing_cache_strategy),
+ * so a typo in a region name shows up at startup instead of as an unbounded default cache.
+ * Each default can be changed with app.l2.&lt;region&gt;.max-entries and app.l2.&lt;region&gt;.ttl.
+ *
+ * Hit/miss counts are published per region twice: by Hibernate's statistics
+ * (hibernate.second.level.cache.requests) and by the caches themselves (cache.gets, cache.puts, cache.evictions with tag cache=&lt;region&gt;).
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    // Sized to hold the whole table with room to grow; entries are kept exact by Hibernate
+    // (READ_WRITE) and SecondLevelCacheEvictor, the ttl only bounds the staleness of edits
+    // made to the database behind the app's back.
+    static final List<Region> REGIONS = List.of(
+            new Region(CacheRegions.COUNTRY_WISE_LATEST, 512, Duration.ofHours(1)),
+            new Region(CacheRegions.WORLDOMETER, 512, Duration.ofHours(1)),
+            new Region(CacheRegions.DAY_WISE, 1024, Duration.ofHours(1)),
+            new Region(CacheRegions.COVID_DATA, 2048, Duration.ofHours(1))
+    );
+
+    private static final URI CACHE_MANAGER_URI = URI.create("covid-counter-hibernate");
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment) {
+        CacheManager manager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(CACHE_MANAGER_URI, getClass().getClassLoader());
+        createRegions(manager, environment);
+        return manager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheProperties(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String name : hibernateCacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(name));
+            }
+        };
+    }
+
+    static void createRegions(CacheManager manager, PropertyResolver properties) {
+        for (Region region : REGIONS) {
+            Cache<Object, Object> existing = manager.getCache(region.name());
+            if (existing != null) {
+                // Same manager handed out again (e.g. a second context in tests): start empty.
+                existing.clear();
+                continue;
+            }
+            manager.createCache(region.name(), region.configuration(properties));
+        }
+    }
+
+    /**
+     * Defaults of one region.
+     *
+     * @param maxEntries 0 for unbounded
+     * @param ttl        time after a write before the entry expires; null for never
+     */
+    record Region(String name, long maxEntries, Duration ttl) {
+
+        CaffeineConfiguration<Object, Object> configuration(PropertyResolver properties) {
+            long max = properties.getProperty("app.l2." + name + ".max-entries", Long.class, maxEntries);
+            String ttlText = properties.getProperty("app.l2." + name + ".ttl");
+            Duration expiry = ttlText == null ? ttl : DurationStyle.detectAndParse(ttlText);
+
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            // Hibernate caches its own disassembled copies; no need to copy them again.
+            configuration.setStoreByValue(false);
+            configuration.setStatisticsEnabled(true);
+            if (max > 0) {
+                configuration.setMaximumSize(OptionalLong.of(max));
+            }
+            if (expiry != null) {
+                configuration.setExpireAfterWrite(OptionalLong.of(expiry.toNanos()));
+            }
+            return configuration;
+        }
+    }
+}
@@ -35,12 +35,22 @@ public class SecurityConfig {
                     // Allow public read/write for data tables; tighten if you want auth-only updates.
                     .requestMatchers(HttpMethod.GET, "/countries/**").permitAll()
                     .requestMatchers(HttpMethod.PUT, "/countries/**").permitAll()
+                    .requestMatchers(HttpMethod.PATCH, "/countries/**").permitAll()
                     .requestMatchers(HttpMethod.GET, "/worldometer/**").permitAll()
                     .requestMatchers(HttpMethod.PUT, "/worldometer/**").permitAll()
+                    .requestMatchers(HttpMethod.PATCH, "/worldometer/**").permitAll()
                     .requestMatchers(HttpMethod.GET, "/day-wise/**").permitAll()
                     .requestMatchers(HttpMethod.PUT, "/day-wise/**").permitAll()
+                    .requestMatchers(HttpMethod.PATCH, "/day-wise/**").permitAll()
                     .requestMatchers(HttpMethod.GET, "/covid-data/**").permitAll()
                     .requestMatchers(HttpMethod.PUT, "/covid-data/**").permitAll()
+                    .requestMatchers(HttpMethod.PATCH, "/covid-data/**").permitAll()
+                    .requestMatchers(HttpMethod.GET, "/series/**").permitAll()
+                    .requestMatchers(HttpMethod.GET, "/analytics/**").permitAll()
+                    .requestMatchers(HttpMethod.GET, "/rollups/**").permitAll()
+                    .requestMatchers(HttpMethod.GET, "/changes/**").permitAll()
+                    // Health and the Prometheus scrape; restrict at the network level in production.
+                    .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll()
                     .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                     .anyRequest().authenticated()
             )
@@ -60,7 +70,7 @@ public class SecurityConfig {
         CorsConfiguration config = new CorsConfiguration();
         // Dev-friendly: allow any origin pattern (including localhost variants) with credentials.
         config.setAllowedOriginPatterns(List.of("*"));
-        config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
         config.setExposedHeaders(List.of("Authorization", "Set-Cookie"));
         config.setAllowCredentials(true);
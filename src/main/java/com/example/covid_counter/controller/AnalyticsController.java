@@ -0,0 +1,104 @@
+package com.example.covid_counter.controller;
+
+import com.example.covid_counter.analytics.AnalyticsService;
+import com.example.covid_counter.analytics.Metric;
+import com.example.covid_counter.model.CountryTotal;
+import com.example.covid_counter.model.GrowthDay;
+import com.example.covid_counter.model.ProvincePoint;
+import com.example.covid_counter.model.RegionSeries;
+import com.example.covid_counter.model.RegionTotals;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Aggregations over the province-level dataset (covid_19_clean_complete.csv).
+ * - GET /analytics/regions?metric=confirmed          daily totals per WHO region
+ * - GET /analytics/regions/2020-04-01                all metrics per WHO region on a date
+ * - GET /analytics/countries/top?date=2020-04-01&metric=deaths&limit=10
+ * - GET /analytics/countries/China/max-growth?metric=confirmed
+ * - GET /analytics/provinces/within?south=40&west=-10&north=55&east=20&date=2020-04-01
+ * - GET /analytics/provinces/near?lat=48.8&lon=2.3&radiusKm=500&limit=20
+ * metric is one of confirmed, deaths, recovered, active. date defaults to the last day.
+ */
+@RestController
+@RequestMapping("/analytics")
+public class AnalyticsController {
+
+    private static final int MAX_GEO_LIMIT = 1000;
+
+    private final AnalyticsService service;
+
+    public AnalyticsController(AnalyticsService service) {
+        this.service = service;
+    }
+
+    @GetMapping("/regions")
+    public RegionSeries regionSeries(@RequestParam(defaultValue = "confirmed") String metric) {
+        return service.regionSeries(parseMetric(metric));
+    }
+
+    @GetMapping("/regions/{date}")
+    public List<RegionTotals> regionTotals(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return service.regionTotals(date);
+    }
+
+    @GetMapping("/countries/top")
+    public List<CountryTotal> topCountries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "confirmed") String metric,
+            @RequestParam(defaultValue = "10") int limit) {
+        return service.topCountries(date, parseMetric(metric), limit);
+    }
+
+    @GetMapping("/countries/{country}/max-growth")
+    public GrowthDay maxGrowthDay(@PathVariable String country,
+                                  @RequestParam(defaultValue = "confirmed") String metric) {
+        try {
+            return service.maxGrowthDay(country, parseMetric(metric));
+        } catch (EntityNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    @GetMapping("/provinces/within")
+    public List<ProvincePoint> provincesWithin(
+            @RequestParam double south, @RequestParam double west,
+            @RequestParam double north, @RequestParam double east,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            return service.provincesWithin(south, west, north, east, date);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping("/provinces/near")
+    public List<ProvincePoint> provincesNear(
+            @RequestParam double lat, @RequestParam double lon, @RequestParam double radiusKm,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            return service.provincesNear(lat, lon, radiusKm, Math.min(limit, MAX_GEO_LIMIT), date);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private static Metric parseMetric(String metric) {
+        try {
+            return Metric.fromName(metric);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
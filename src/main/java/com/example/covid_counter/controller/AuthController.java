@@ -1,5 +1,6 @@
 package com.example.covid_counter.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
@@ -15,6 +16,7 @@ import com.example.covid_counter.model.AuthResponse;
 import com.example.covid_counter.model.OtpChallengeResponse;
 import com.example.covid_counter.model.OtpVerifyRequest;
 import com.example.covid_counter.model.RegisterRequest;
+import com.example.covid_counter.security.AuthRateLimiter;
 import com.example.covid_counter.service.AuthService;
 
 /**
@@ -22,6 +24,7 @@ import com.example.covid_counter.service.AuthService;
  *  - Exposes HTTP endpoints for register and login
  *  - Talks to AuthService
  *  - For now, directly returns String JWT tokens
+ *  - Register and login are rate limited per client IP and per email (429 when exceeded)
  */
 @RestController
 @CrossOrigin(
@@ -31,10 +34,12 @@ import com.example.covid_counter.service.AuthService;
 public class AuthController {
 
     private final AuthService authService;
+    private final AuthRateLimiter rateLimiter;
 
     // constructor injection (no @Autowired)
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService, AuthRateLimiter rateLimiter) {
         this.authService = authService;
+        this.rateLimiter = rateLimiter;
     }
 
     /**
@@ -43,7 +48,8 @@ public class AuthController {
      * Returns: { "token": null, "email": "..." } (token comes after OTP login)
      */
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@RequestBody RegisterRequest request) {
+    public ResponseEntity<AuthResponse> register(@RequestBody RegisterRequest request, HttpServletRequest http) {
+        rateLimiter.check(http.getRemoteAddr(), request.getEmail());
         // No JWT yet; user must login and pass OTP.
         AuthResponse auth = authService.registerUser(request);
         return ResponseEntity.ok(auth);
@@ -55,7 +61,8 @@ public class AuthController {
      * Returns: OTP_REQUIRED response, no JWT yet.
      */
     @PostMapping("/login")
-    public ResponseEntity<OtpChallengeResponse> login(@RequestBody AuthRequest request) {
+    public ResponseEntity<OtpChallengeResponse> login(@RequestBody AuthRequest request, HttpServletRequest http) {
+        rateLimiter.check(http.getRemoteAddr(), request.getEmail());
         OtpChallengeResponse otpResponse = authService.loginUser(request);
         return ResponseEntity.ok(otpResponse);
     }
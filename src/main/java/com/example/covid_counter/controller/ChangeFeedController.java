@@ -0,0 +1,52 @@
+package com.example.covid_counter.controller;
+
+import com.example.covid_counter.service.ChangeFeedService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+/**
+ * Live change feed (Server-Sent Events).
+ * - GET /changes/stream all tables
+ * - GET /changes/stream?tables=country_wise_latest,worldometer_data only those tables
+ * Events: "change" (JSON ChangeEvent) and "resync" (client fell behind; refetch).
+ * Browsers reconnect on their own and send Last-Event-ID, so missed events are replayed.
+ */
+@RestController
+@CrossOrigin(
+        origins = {
+                "http://localhost:5173",
+                "http://127.0.0.1:5173",
+                "http://localhost:3000",
+                "http://127.0.0.1:3000"
+        },
+        allowCredentials = "true")
+@RequestMapping("/changes")
+public class ChangeFeedController {
+
+    private final ChangeFeedService feed;
+
+    public ChangeFeedController(ChangeFeedService feed) {
+        this.feed = feed;
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestParam(required = false) Set<String> tables,
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        try {
+            return feed.subscribe(tables, lastEventId);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+}
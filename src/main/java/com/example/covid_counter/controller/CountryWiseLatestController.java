@@ -1,9 +1,17 @@
 package com.example.covid_counter.controller;
 
+import com.example.covid_counter.model.BulkUpdateReport;
 import com.example.covid_counter.model.CountryWiseLatest;
+import com.example.covid_counter.model.KeysetPage;
 import com.example.covid_counter.service.CountryWiseLatestService;
+import com.example.covid_counter.service.BulkUpdater;
+import com.example.covid_counter.service.KeysetPageService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -22,9 +30,13 @@ import org.springframework.web.bind.annotation.CrossOrigin;
 public class CountryWiseLatestController {
 
     private final CountryWiseLatestService service;
+    private final KeysetPageService pages;
+    private final BulkUpdater bulk;
 
-    public CountryWiseLatestController(CountryWiseLatestService service) {
+    public CountryWiseLatestController(CountryWiseLatestService service, KeysetPageService pages, BulkUpdater bulk) {
         this.service = service;
+        this.pages = pages;
+        this.bulk = bulk;
     }
 
     @GetMapping
@@ -52,6 +64,32 @@ public class CountryWiseLatestController {
         return service.getByActiveGreaterThan(minActive);
     }
 
+    @GetMapping("/activeBetween/{minActive}/{maxActive}")
+    public List<CountryWiseLatest> getByActiveBetween(@PathVariable Long minActive, @PathVariable Long maxActive) {
+        return service.getByActiveBetween(minActive, maxActive);
+    }
+
+    @GetMapping("/topActive/{limit}")
+    public List<CountryWiseLatest> getTopActive(@PathVariable int limit) {
+        return service.getTopActive(limit);
+    }
+
+    /**
+     * Keyset-paginated listing: GET /countries/page?after=&lt;last id&gt;&limit=50&fields=a,b
+     * Only the requested fields are selected; the id is always included.
+     */
+    @GetMapping("/page")
+    public KeysetPage getPage(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        try {
+            return pages.fetch(CountryWiseLatest.class, after, limit, fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     @PutMapping("/{country}")
     public CountryWiseLatest updateByCountry(@PathVariable String country, @RequestBody CountryWiseLatest updated) {
         return service.updateByCountry(country, updated);
@@ -61,4 +99,29 @@ public class CountryWiseLatestController {
     public CountryWiseLatest updateRecovered(@PathVariable String country) {
         return service.updateRecovered(country);
     }
+
+    /**
+     * Bulk update: PATCH /countries with a JSON array of rows. Each row needs its id; only
+     * non-null fields are applied. All rows are written in one transaction.
+     */
+    @PatchMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BulkUpdateReport bulkUpdate(@RequestBody List<CountryWiseLatest> rows) {
+        try {
+            return service.bulkUpdate(rows);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Same as above, with an NDJSON body (one JSON object per line, Content-Type: application/x-ndjson).
+     */
+    @PatchMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public BulkUpdateReport bulkUpdateNdjson(InputStream body) {
+        try {
+            return service.bulkUpdate(bulk.readNdjson(body, CountryWiseLatest.class));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
 }
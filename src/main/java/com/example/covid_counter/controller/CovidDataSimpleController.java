@@ -1,8 +1,16 @@
 package com.example.covid_counter.controller;
 
+import com.example.covid_counter.model.BulkUpdateReport;
 import com.example.covid_counter.model.CovidDataSimple;
+import com.example.covid_counter.model.KeysetPage;
 import com.example.covid_counter.service.CovidDataSimpleService;
+import com.example.covid_counter.service.BulkUpdater;
+import com.example.covid_counter.service.KeysetPageService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -10,20 +18,31 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
  * REST endpoints for covid_data_1000_records_simple_id.
  * Filters by region or continent (both map to the Region column).
+ * - GET /covid-data/search?q=Ind&limit=10 ranked typeahead on country
+ * - GET /covid-data/near?lat=28.6&lon=77.2&radiusKm=1000 nearest first
+ * - GET /covid-data/within?south=-10&west=95&north=20&east=140 rows in a lat/long box
  */
 @RestController
 @RequestMapping("/covid-data")
 public class CovidDataSimpleController {
 
+    private static final int MAX_SEARCH_LIMIT = 50;
+    private static final int MAX_GEO_LIMIT = 1000;
+
     private final CovidDataSimpleService service;
+    private final KeysetPageService pages;
+    private final BulkUpdater bulk;
 
-    public CovidDataSimpleController(CovidDataSimpleService service) {
+    public CovidDataSimpleController(CovidDataSimpleService service, KeysetPageService pages, BulkUpdater bulk) {
         this.service = service;
+        this.pages = pages;
+        this.bulk = bulk;
     }
 
     @GetMapping
@@ -34,8 +53,85 @@ public class CovidDataSimpleController {
         return service.getAll(country, region, continent);
     }
 
+    @GetMapping("/search")
+    public List<CovidDataSimple> search(
+            @RequestParam("q") String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return service.search(prefix, Math.min(limit, MAX_SEARCH_LIMIT));
+    }
+
+    @GetMapping("/near")
+    public List<CovidDataSimple> near(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam double radiusKm,
+            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return service.near(lat, lon, radiusKm, Math.min(limit, MAX_GEO_LIMIT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Bounding-box query for the map view; west &gt; east crosses the antimeridian.
+     */
+    @GetMapping("/within")
+    public List<CovidDataSimple> within(
+            @RequestParam double south,
+            @RequestParam double west,
+            @RequestParam double north,
+            @RequestParam double east) {
+        try {
+            return service.within(south, west, north, east);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Keyset-paginated listing: GET /covid-data/page?after=&lt;last id&gt;&limit=50&fields=a,b
+     * Only the requested fields are selected; the id is always included.
+     */
+    @GetMapping("/page")
+    public KeysetPage getPage(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        try {
+            return pages.fetch(CovidDataSimple.class, after, limit, fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     @PutMapping("/{id}")
     public CovidDataSimple update(@PathVariable Long id, @RequestBody CovidDataSimple payload) {
         return service.update(id, payload);
     }
+
+    /**
+     * Bulk update: PATCH /covid-data with a JSON array of rows. Each row needs its id; only
+     * non-null fields are applied. All rows are written in one transaction.
+     */
+    @PatchMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BulkUpdateReport bulkUpdate(@RequestBody List<CovidDataSimple> rows) {
+        try {
+            return service.bulkUpdate(rows);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Same as above, with an NDJSON body (one JSON object per line, Content-Type: application/x-ndjson).
+     */
+    @PatchMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public BulkUpdateReport bulkUpdateNdjson(InputStream body) {
+        try {
+            return service.bulkUpdate(bulk.readNdjson(body, CovidDataSimple.class));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
 }
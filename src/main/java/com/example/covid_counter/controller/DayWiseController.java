@@ -1,38 +1,132 @@
 package com.example.covid_counter.controller;
 
+import com.example.covid_counter.analytics.DailyMetric;
+import com.example.covid_counter.model.BulkUpdateReport;
+import com.example.covid_counter.model.DailyTrend;
 import com.example.covid_counter.model.DayWise;
+import com.example.covid_counter.model.KeysetPage;
 import com.example.covid_counter.service.DayWiseService;
+import com.example.covid_counter.service.BulkUpdater;
+import com.example.covid_counter.service.KeysetPageService;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 /**
  * REST endpoints for day_wise table.
- * - GET /day-wise?date=2020-03 filters by date prefix
+ * - GET /day-wise?date=2020-03 filters by date prefix (year, month or day)
+ * - GET /day-wise?from=2020-03-01&to=2020-03-31 inclusive date range
+ * - GET /day-wise/2020-03-05 one day
+ * - GET /day-wise/trends?metric=new_cases&window=7 rolling average, growth, doubling time, peaks
  */
 @RestController
 @RequestMapping("/day-wise")
 public class DayWiseController {
 
     private final DayWiseService service;
+    private final KeysetPageService pages;
+    private final BulkUpdater bulk;
 
-    public DayWiseController(DayWiseService service) {
+    public DayWiseController(DayWiseService service, KeysetPageService pages, BulkUpdater bulk) {
         this.service = service;
+        this.pages = pages;
+        this.bulk = bulk;
     }
 
     @GetMapping
-    public List<DayWise> getAll(@RequestParam(required = false) String date) {
-        return service.getAll(date);
+    public List<DayWise> getAll(
+            @RequestParam(required = false) String date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return service.getAll(date, from, to);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping("/{date}")
+    public DayWise getByDate(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            return service.getByDate(date);
+        } catch (EntityNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    /**
+     * Keyset-paginated listing: GET /day-wise/page?after=&lt;last id&gt;&limit=50&fields=a,b
+     * Only the requested fields are selected; the id is always included.
+     */
+    @GetMapping("/page")
+    public KeysetPage getPage(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        try {
+            return pages.fetch(DayWise.class, after, limit, fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Trend of one metric (confirmed, deaths, recovered, active, new_cases, new_deaths,
+     * new_recovered) with a rolling window of 1-90 days, 7 by default.
+     */
+    @GetMapping("/trends")
+    public DailyTrend getTrend(
+            @RequestParam(defaultValue = "new_cases") String metric,
+            @RequestParam(defaultValue = "7") int window) {
+        try {
+            return service.trend(DailyMetric.fromName(metric), window);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
 
     @PutMapping("/{date}")
-    public DayWise update(@PathVariable String date, @RequestBody DayWise payload) {
+    public DayWise update(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                          @RequestBody DayWise payload) {
         return service.updateByDate(date, payload);
     }
+
+    /**
+     * Bulk update: PATCH /day-wise with a JSON array of rows. Each row needs its id; only
+     * non-null fields are applied. All rows are written in one transaction.
+     */
+    @PatchMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BulkUpdateReport bulkUpdate(@RequestBody List<DayWise> rows) {
+        try {
+            return service.bulkUpdate(rows);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Same as above, with an NDJSON body (one JSON object per line, Content-Type: application/x-ndjson).
+     */
+    @PatchMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public BulkUpdateReport bulkUpdateNdjson(InputStream body) {
+        try {
+            return service.bulkUpdate(bulk.readNdjson(body, DayWise.class));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
 }
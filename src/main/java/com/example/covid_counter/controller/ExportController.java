@@ -0,0 +1,66 @@
+package com.example.covid_counter.controller;
+
+import com.example.covid_counter.service.ExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Streaming exports of whole tables for downstream jobs.
+ * - GET /export/full_grouped?format=csv
+ * - GET /export/country_wise_latest?format=ndjson
+ * Requires a valid JWT (falls under anyRequest().authenticated()).
+ *
+ * The body is written on an async thread, which Spring MVC would cut off after the default
+ * async timeout (30 s in Tomcat), halfway through a big table and after the 200 has been sent.
+ * Exports get their own limit instead: app.export.timeout-ms (0 = no limit).
+ */
+@RestController
+@RequestMapping("/export")
+public class ExportController {
+
+    private final ExportService exportService;
+    private final long timeoutMs;
+
+    public ExportController(ExportService exportService,
+                            @Value("${app.export.timeout-ms:3600000}") long timeoutMs) {
+        this.exportService = exportService;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @GetMapping("/{table}")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String table,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletRequest request) {
+        ExportService.Format target;
+        try {
+            target = ExportService.Format.fromParam(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        if (!exportService.tables().contains(table)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown table: " + table);
+        }
+
+        // Applies to this request only; must be set before the async part starts.
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(timeoutMs);
+
+        StreamingResponseBody body = out -> exportService.export(table, target, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, target.contentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + table + "." + target.extension() + "\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.covid_counter.controller;
+
+import com.example.covid_counter.ingest.CsvIngestService;
+import com.example.covid_counter.ingest.Dataset;
+import com.example.covid_counter.model.IngestReport;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Admin endpoints for (re)loading the bundled CSV files.
+ * - POST /admin/ingest reloads every dataset
+ * - POST /admin/ingest/full-grouped reloads a single one
+ * Requires a valid JWT (falls under anyRequest().authenticated()).
+ */
+@RestController
+@RequestMapping("/admin/ingest")
+public class IngestController {
+
+    private final CsvIngestService ingestService;
+
+    public IngestController(CsvIngestService ingestService) {
+        this.ingestService = ingestService;
+    }
+
+    @PostMapping
+    public List<IngestReport> ingestAll() {
+        return ingestService.ingestAll();
+    }
+
+    @PostMapping("/{dataset}")
+    public IngestReport ingest(@PathVariable String dataset) {
+        Dataset target;
+        try {
+            target = Dataset.fromSlug(dataset);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+        return ingestService.ingest(target);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.covid_counter.controller;
+
+import com.example.covid_counter.model.RecomputeReport;
+import com.example.covid_counter.service.RecomputeService;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Admin endpoint for recomputing derived columns.
+ * - POST /admin/recompute/country-wise-latest recomputes Recovered and the ratios for all countries
+ * Requires a valid JWT (falls under anyRequest().authenticated()).
+ */
+@RestController
+@RequestMapping("/admin/recompute")
+public class RecomputeController {
+
+    private final RecomputeService recomputeService;
+
+    public RecomputeController(RecomputeService recomputeService) {
+        this.recomputeService = recomputeService;
+    }
+
+    @PostMapping("/country-wise-latest")
+    public RecomputeReport recomputeCountryWiseLatest() {
+        return recomputeService.recomputeCountryWiseLatest();
+    }
+}
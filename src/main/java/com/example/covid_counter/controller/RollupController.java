@@ -0,0 +1,42 @@
+package com.example.covid_counter.controller;
+
+import com.example.covid_counter.model.RegionRollup;
+import com.example.covid_counter.model.Rollups;
+import com.example.covid_counter.service.RollupService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Precomputed region summaries.
+ * - GET /rollups both lists
+ * - GET /rollups/who-regions sums of country_wise_latest per WHO region
+ * - GET /rollups/continents sums of worldometer_data per continent
+ */
+@RestController
+@RequestMapping("/rollups")
+public class RollupController {
+
+    private final RollupService service;
+
+    public RollupController(RollupService service) {
+        this.service = service;
+    }
+
+    @GetMapping
+    public Rollups getAll() {
+        return service.getAll();
+    }
+
+    @GetMapping("/who-regions")
+    public List<RegionRollup> getWhoRegions() {
+        return service.getWhoRegions();
+    }
+
+    @GetMapping("/continents")
+    public List<RegionRollup> getContinents() {
+        return service.getContinents();
+    }
+}
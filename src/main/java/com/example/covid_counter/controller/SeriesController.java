@@ -0,0 +1,58 @@
+package com.example.covid_counter.controller;
+
+import com.example.covid_counter.model.SeriesField;
+import com.example.covid_counter.service.SeriesService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST endpoints for the full_grouped time series.
+ * - GET /series/India?from=2020-03-01&to=2020-04-30&fields=confirmed,newCases
+ * All params are optional; without fields every numeric column is returned.
+ */
+@RestController
+@RequestMapping("/series")
+public class SeriesController {
+
+    private final SeriesService service;
+
+    public SeriesController(SeriesService service) {
+        this.service = service;
+    }
+
+    @GetMapping("/{country}")
+    public ResponseEntity<StreamingResponseBody> getSeries(
+            @PathVariable String country,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String fields) {
+        List<SeriesField> selected;
+        try {
+            selected = SeriesField.parseList(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    e.getMessage() + " (known: " + SeriesService.knownFields() + ")");
+        }
+        // Check up front: once streaming starts we can no longer change the status code.
+        if (!service.hasCountry(country)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No series for country: " + country);
+        }
+
+        StreamingResponseBody body = out -> service.writeSeries(country, from, to, selected, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+}
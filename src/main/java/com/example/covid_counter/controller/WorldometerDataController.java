@@ -1,24 +1,43 @@
 package com.example.covid_counter.controller;
 
+import com.example.covid_counter.model.BulkUpdateReport;
+import com.example.covid_counter.model.WorldometerColumns;
 import com.example.covid_counter.model.WorldometerData;
+import com.example.covid_counter.model.KeysetPage;
 import com.example.covid_counter.service.WorldometerDataService;
+import com.example.covid_counter.service.BulkUpdater;
+import com.example.covid_counter.service.KeysetPageService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
  * REST endpoints for worldometer_data table.
  * - GET /worldometer?country=In&continent=As filters by prefixes
+ * - GET /worldometer/search?q=In&limit=10 ranked typeahead on country
+ * - GET /worldometer/columns whole table as one array per field
+ * Every GET also answers in CBOR when asked with Accept: application/cbor.
  * - PUT /worldometer/{country} updates the record by country name
+ * - PATCH /worldometer updates many rows at once (JSON array or NDJSON)
  */
 @RestController
 @RequestMapping("/worldometer")
 public class WorldometerDataController {
 
+    private static final int MAX_SEARCH_LIMIT = 50;
+
     private final WorldometerDataService service;
+    private final KeysetPageService pages;
+    private final BulkUpdater bulk;
 
-    public WorldometerDataController(WorldometerDataService service) {
+    public WorldometerDataController(WorldometerDataService service, KeysetPageService pages, BulkUpdater bulk) {
         this.service = service;
+        this.pages = pages;
+        this.bulk = bulk;
     }
 
     /**
@@ -32,6 +51,40 @@ public class WorldometerDataController {
         return service.getAll(country, continent);
     }
 
+    /**
+     * Typeahead: best country matches for a prefix (exact match first, then most cases).
+     */
+    @GetMapping("/search")
+    public List<WorldometerData> search(
+            @RequestParam("q") String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return service.search(prefix, Math.min(limit, MAX_SEARCH_LIMIT));
+    }
+
+    /**
+     * Columnar listing: {"count": n, "countryRegion": [...], "population": [...], ...}.
+     */
+    @GetMapping("/columns")
+    public WorldometerColumns getColumns() {
+        return service.getColumns();
+    }
+
+    /**
+     * Keyset-paginated listing: GET /worldometer/page?after=&lt;last id&gt;&limit=50&fields=a,b
+     * Only the requested fields are selected; the id is always included.
+     */
+    @GetMapping("/page")
+    public KeysetPage getPage(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        try {
+            return pages.fetch(WorldometerData.class, after, limit, fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     /**
      * Update a single country row.
      */
@@ -41,4 +94,29 @@ public class WorldometerDataController {
             @RequestBody WorldometerData updated) {
         return service.updateByCountry(country, updated);
     }
+
+    /**
+     * Bulk update: PATCH /worldometer with a JSON array of rows. Each row needs its id; only
+     * non-null fields are applied. All rows are written in one transaction.
+     */
+    @PatchMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BulkUpdateReport bulkUpdate(@RequestBody List<WorldometerData> rows) {
+        try {
+            return service.bulkUpdate(rows);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Same as above, with an NDJSON body (one JSON object per line, Content-Type: application/x-ndjson).
+     */
+    @PatchMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public BulkUpdateReport bulkUpdateNdjson(InputStream body) {
+        try {
+            return service.bulkUpdate(bulk.readNdjson(body, WorldometerData.class));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
 }
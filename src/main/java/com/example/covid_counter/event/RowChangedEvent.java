@@ -0,0 +1,27 @@
+package com.example.covid_counter.event;
+
+import org.springframework.beans.BeanUtils;
+
+/**
+ * Published by the services whenever a single row is updated.
+ *
+ * before/after are detached copies, so listeners may keep them. Listeners that must only
+ * react to committed data use @TransactionalEventListener.
+ *
+ * @param table  one of {@link Tables}
+ * @param key    primary key of the row
+ * @param before row contents before the update
+ * @param after  row contents after the update
+ */
+public record RowChangedEvent(String table, Object key, Object before, Object after) {
+
+    /**
+     * Shallow copy of an entity (all fields are immutable values), detached from JPA.
+     */
+    public static <T> T copyOf(T entity) {
+        @SuppressWarnings("unchecked")
+        T copy = (T) BeanUtils.instantiateClass(entity.getClass());
+        BeanUtils.copyProperties(entity, copy);
+        return copy;
+    }
+}
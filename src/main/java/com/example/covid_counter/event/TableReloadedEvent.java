@@ -0,0 +1,10 @@
+package com.example.covid_counter.event;
+
+/**
+ * Published after a bulk operation replaced or rewrote many rows of a table
+ * (CSV ingest, set-based SQL updates). In-memory views of the table should be rebuilt.
+ *
+ * @param table one of {@link Tables}
+ */
+public record TableReloadedEvent(String table) {
+}
@@ -0,0 +1,60 @@
+package com.example.covid_counter.event;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A version number per table, bumped after every committed change made through the app.
+ *
+ * Used to build strong ETags: same version means the same response bytes, so a client
+ * holding that ETag can get 304 Not Modified without any DB work. Changes made to the
+ * database behind the app's back are not seen (reload via /admin/ingest in that case).
+ */
+@Component
+public class TableVersions {
+
+    // Differs per app start, so ETags handed out before a restart never match afterwards.
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public long version(String table) {
+        AtomicLong v = versions.get(table);
+        return v == null ? 0 : v.get();
+    }
+
+    /**
+     * Strong ETag (quoted) covering the given tables.
+     */
+    public String etag(List<String> tables) {
+        StringBuilder sb = new StringBuilder(32).append('"').append(epoch);
+        for (String table : tables) {
+            sb.append('-').append(version(table));
+        }
+        return sb.append('"').toString();
+    }
+
+    public void bump(String table) {
+        versions.computeIfAbsent(table, t -> new AtomicLong()).incrementAndGet();
+    }
+
+    // Lowest precedence: the caches must have applied the change before the ETag moves on.
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRowChanged(RowChangedEvent event) {
+        bump(event.table());
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener
+    public void onTableReloaded(TableReloadedEvent event) {
+        bump(event.table());
+    }
+}
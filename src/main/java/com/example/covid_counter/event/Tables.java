@@ -0,0 +1,17 @@
+package com.example.covid_counter.event;
+
+/**
+ * Table names used to tag change events, matching the @Table names of the entities.
+ */
+public final class Tables {
+
+    public static final String COUNTRY_WISE_LATEST = "country_wise_latest";
+    public static final String WORLDOMETER = "worldometer_data";
+    public static final String DAY_WISE = "day_wise";
+    public static final String COVID_DATA = "covid_data_1000_records_simple_id";
+    public static final String FULL_GROUPED = "full_grouped";
+    public static final String CLEAN_COMPLETE = "covid_19_clean_complete";
+
+    private Tables() {
+    }
+}
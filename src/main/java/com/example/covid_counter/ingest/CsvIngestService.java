@@ -0,0 +1,158 @@
+package com.example.covid_counter.ingest;
+
+import com.example.covid_counter.event.TableReloadedEvent;
+import com.example.covid_counter.model.IngestReport;
+import com.example.covid_counter.service.RecomputeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Loads the bundled CSV datasets into MySQL.
+ *
+ * Each file is streamed through {@link CsvReader} and written with JDBC batches
+ * (combine with rewriteBatchedStatements=true on the URL so MySQL gets multi-row INSERTs).
+ * A load replaces the whole table inside one transaction, so readers never see a half-loaded table.
+ */
+@Service
+public class CsvIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(CsvIngestService.class);
+    private static final int MAX_LOGGED_REJECTS = 10;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher events;
+    private final RecomputeService recomputeService;
+    private final int batchSize;
+
+    public CsvIngestService(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            ApplicationEventPublisher events,
+                            RecomputeService recomputeService,
+                            @Value("${app.ingest.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.events = events;
+        this.recomputeService = recomputeService;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Reload every dataset. Tables are independent, so they load in parallel.
+     */
+    public List<IngestReport> ingestAll() {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<IngestReport>> futures = new ArrayList<>();
+            for (Dataset dataset : Dataset.values()) {
+                futures.add(executor.submit(() -> ingest(dataset)));
+            }
+            List<IngestReport> reports = new ArrayList<>();
+            for (Future<IngestReport> future : futures) {
+                reports.add(future.get());
+            }
+            return reports;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ingest interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException("Ingest failed", e.getCause());
+        }
+    }
+
+    /**
+     * Replace the contents of one table with its bundled CSV file.
+     */
+    public IngestReport ingest(Dataset dataset) {
+        long started = System.nanoTime();
+        if (dataset.createTableSql() != null) {
+            jdbcTemplate.execute(dataset.createTableSql());
+        }
+
+        long[] counts = transactionTemplate.execute(status -> {
+            long[] loaded = jdbcTemplate.execute((ConnectionCallback<long[]>) con -> load(con, dataset));
+            if (dataset == Dataset.COUNTRY_WISE_LATEST) {
+                // Same transaction: readers never see fresh rows with stale derived columns.
+                int changed = recomputeService.recomputeInCurrentTransaction();
+                log.info("Recomputed derived columns for {} rows of {}", changed, dataset.table());
+            }
+            return loaded;
+        });
+
+        // Committed: let in-memory views of this table rebuild.
+        events.publishEvent(new TableReloadedEvent(dataset.table()));
+
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Loaded {} rows into {} in {} ms ({} rejected)", counts[0], dataset.table(), millis, counts[1]);
+        return new IngestReport(dataset.slug(), dataset.table(), counts[0], counts[1], millis);
+    }
+
+    private long[] load(Connection con, Dataset dataset) throws SQLException {
+        try (Statement st = con.createStatement()) {
+            st.executeUpdate(dataset.deleteSql());
+        }
+
+        long loaded = 0;
+        long rejected = 0;
+        int pending = 0;
+        try (InputStream in = new ClassPathResource(dataset.resource()).getInputStream();
+             CsvReader reader = new CsvReader(in);
+             PreparedStatement ps = con.prepareStatement(dataset.insertSql())) {
+
+            reader.next(); // header line
+            while (reader.next()) {
+                CsvRow row = reader.row();
+                try {
+                    if (row.size() < dataset.columnCount()) {
+                        throw new IllegalArgumentException("Expected " + dataset.columnCount()
+                                + " fields but found " + row.size());
+                    }
+                    dataset.binder().bind(ps, row);
+                } catch (IllegalArgumentException e) {
+                    if (rejected++ < MAX_LOGGED_REJECTS) {
+                        log.warn("Skipping {} line {}: {}", dataset.resource(), reader.lineNumber(), e.getMessage());
+                    }
+                    ps.clearParameters();
+                    continue;
+                }
+                ps.addBatch();
+                if (++pending == batchSize) {
+                    ps.executeBatch();
+                    loaded += pending;
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                ps.executeBatch();
+                loaded += pending;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + dataset.resource(), e);
+        }
+        return new long[] {loaded, rejected};
+    }
+}
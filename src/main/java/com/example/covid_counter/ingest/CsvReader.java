@@ -0,0 +1,123 @@
+package com.example.covid_counter.ingest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streams a CSV file line by line into a single reusable {@link CsvRow}.
+ *
+ * Unlike BufferedReader.readLine() this does not create a String per line:
+ * chars are pulled from a 64 KB chunk buffer and copied into the row's own buffer.
+ */
+public final class CsvReader implements Closeable {
+
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private final Reader in;
+    private final char[] chunk = new char[CHUNK_SIZE];
+    private int pos;
+    private int limit;
+    private boolean eof;
+
+    private final CsvRow row = new CsvRow();
+    private long lineNumber;
+
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    public CsvReader(InputStream in) {
+        this(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Advance to the next non-empty line.
+     *
+     * @return false once the input is exhausted
+     */
+    public boolean next() throws IOException {
+        while (readLine()) {
+            lineNumber++;
+            if (row.length > 0) {
+                row.tokenize();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The current row. Only valid until the next call to {@link #next()}.
+     */
+    public CsvRow row() {
+        return row;
+    }
+
+    /**
+     * 1-based number of the line currently held in {@link #row()}.
+     */
+    public long lineNumber() {
+        return lineNumber;
+    }
+
+    private boolean readLine() throws IOException {
+        row.length = 0;
+        boolean readAnything = false;
+        while (true) {
+            if (pos >= limit) {
+                if (eof || !fill()) {
+                    return readAnything;
+                }
+            }
+            readAnything = true;
+            int start = pos;
+            while (pos < limit && chunk[pos] != '\n') {
+                pos++;
+            }
+            append(start, pos);
+            if (pos < limit) {
+                pos++; // consume '\n'
+                stripCarriageReturn();
+                return true;
+            }
+        }
+    }
+
+    private boolean fill() throws IOException {
+        int n = in.read(chunk, 0, chunk.length);
+        if (n <= 0) {
+            eof = true;
+            stripCarriageReturn();
+            return false;
+        }
+        // drop a UTF-8 byte order mark at the very start of the file
+        pos = (lineNumber == 0 && row.length == 0 && limit == 0 && chunk[0] == '\uFEFF') ? 1 : 0;
+        limit = n;
+        return true;
+    }
+
+    private void append(int from, int to) {
+        int count = to - from;
+        if (count == 0) {
+            return;
+        }
+        row.ensureCapacity(row.length + count);
+        System.arraycopy(chunk, from, row.line, row.length, count);
+        row.length += count;
+    }
+
+    private void stripCarriageReturn() {
+        if (row.length > 0 && row.line[row.length - 1] == '\r') {
+            row.length--;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.covid_counter.ingest;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * One parsed CSV line, reused for every row of a file.
+ *
+ * The reader copies the raw characters into {@link #line} and records where each
+ * field starts and ends. Numeric getters parse straight from the char buffer, so
+ * loading a numeric row allocates nothing; only {@link #getString(int)} creates objects.
+ */
+public final class CsvRow {
+
+    char[] line = new char[256];
+    int length;
+
+    private int[] starts = new int[32];
+    private int[] ends = new int[32];
+    private int fieldCount;
+
+    /**
+     * Split the current contents of {@link #line} into fields.
+     * Double-quoted fields are supported as long as they stay on one line.
+     */
+    void tokenize() {
+        fieldCount = 0;
+        int i = 0;
+        while (true) {
+            if (fieldCount == starts.length) {
+                starts = Arrays.copyOf(starts, fieldCount * 2);
+                ends = Arrays.copyOf(ends, fieldCount * 2);
+            }
+            if (i < length && line[i] == '"') {
+                int start = ++i;
+                while (i < length && line[i] != '"') {
+                    i++;
+                }
+                starts[fieldCount] = start;
+                ends[fieldCount] = i;
+                fieldCount++;
+                // skip closing quote, then everything up to the next separator
+                while (i < length && line[i] != ',') {
+                    i++;
+                }
+            } else {
+                int start = i;
+                while (i < length && line[i] != ',') {
+                    i++;
+                }
+                starts[fieldCount] = start;
+                ends[fieldCount] = i;
+                fieldCount++;
+            }
+            if (i >= length) {
+                return;
+            }
+            i++; // past the comma
+        }
+    }
+
+    /**
+     * Make sure the line buffer can hold at least {@code capacity} chars.
+     */
+    void ensureCapacity(int capacity) {
+        if (capacity > line.length) {
+            line = Arrays.copyOf(line, Math.max(capacity, line.length * 2));
+        }
+    }
+
+    public int size() {
+        return fieldCount;
+    }
+
+    public boolean isBlank(int field) {
+        checkField(field);
+        for (int i = starts[field]; i < ends[field]; i++) {
+            if (!Character.isWhitespace(line[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Field as a trimmed String, or null when the field is empty.
+     */
+    public String getString(int field) {
+        checkField(field);
+        int start = trimmedStart(field);
+        int end = trimmedEnd(field, start);
+        return start == end ? null : new String(line, start, end - start);
+    }
+
+    /**
+     * Same value as getString(field).hashCode(), without creating the String.
+     */
+    public int hashField(int field) {
+        checkField(field);
+        int start = trimmedStart(field);
+        int end = trimmedEnd(field, start);
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + line[i];
+        }
+        return h;
+    }
+
+    /**
+     * Same as value.equals(getString(field)), without creating the String.
+     */
+    public boolean fieldEquals(int field, String value) {
+        checkField(field);
+        int start = trimmedStart(field);
+        int end = trimmedEnd(field, start);
+        if (value == null || value.length() != end - start) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (line[i] != value.charAt(i - start)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int trimmedStart(int field) {
+        int start = starts[field];
+        while (start < ends[field] && Character.isWhitespace(line[start])) start++;
+        return start;
+    }
+
+    private int trimmedEnd(int field, int start) {
+        int end = ends[field];
+        while (end > start && Character.isWhitespace(line[end - 1])) end--;
+        return end;
+    }
+
+    /**
+     * Parse a whole number. A trailing ".0" (pandas export style) is accepted.
+     *
+     * @throws IllegalArgumentException when the field is blank or not a number
+     */
+    public long getLong(int field) {
+        checkField(field);
+        int i = starts[field];
+        int end = ends[field];
+        boolean negative = false;
+        if (i < end && (line[i] == '-' || line[i] == '+')) {
+            negative = line[i] == '-';
+            i++;
+        }
+        if (i >= end) {
+            throw invalid(field, "number");
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            char c = line[i];
+            if (c == '.') {
+                // only zeros are allowed after the decimal point
+                for (int j = i + 1; j < end; j++) {
+                    if (line[j] != '0') {
+                        throw invalid(field, "whole number");
+                    }
+                }
+                break;
+            }
+            if (c < '0' || c > '9') {
+                throw invalid(field, "number");
+            }
+            value = value * 10 + (c - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parse a plain decimal such as "-35.4735" or "3.5".
+     * Values that are not plain decimals (e.g. "inf", "nan") come back as {@link Double#NaN}.
+     */
+    public double getDouble(int field) {
+        checkField(field);
+        int i = starts[field];
+        int end = ends[field];
+        boolean negative = false;
+        if (i < end && (line[i] == '-' || line[i] == '+')) {
+            negative = line[i] == '-';
+            i++;
+        }
+        if (i >= end) {
+            return Double.NaN;
+        }
+        long mantissa = 0;
+        int scale = 0;
+        boolean seenDot = false;
+        int digits = 0;
+        for (; i < end; i++) {
+            char c = line[i];
+            if (c == '.' && !seenDot) {
+                seenDot = true;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                return Double.NaN;
+            }
+            if (digits < 18) {
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (seenDot) scale++;
+            } else if (!seenDot) {
+                // more integer digits than a long can hold exactly; keep the magnitude
+                scale--;
+            }
+        }
+        double value = scale >= 0 ? mantissa / POW10[scale] : mantissa * POW10[-scale];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parse an ISO date (yyyy-MM-dd) into days since 1970-01-01.
+     *
+     * @throws IllegalArgumentException when the field is not an ISO date
+     */
+    public int getEpochDay(int field) {
+        checkField(field);
+        int start = starts[field];
+        if (ends[field] - start != 10 || line[start + 4] != '-' || line[start + 7] != '-') {
+            throw invalid(field, "yyyy-MM-dd date");
+        }
+        int year = digits(field, start, 4);
+        int month = digits(field, start + 5, 2);
+        int day = digits(field, start + 8, 2);
+        try {
+            return (int) LocalDate.of(year, month, day).toEpochDay();
+        } catch (RuntimeException e) {
+            throw invalid(field, "yyyy-MM-dd date");
+        }
+    }
+
+    private int digits(int field, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            char c = line[i];
+            if (c < '0' || c > '9') {
+                throw invalid(field, "yyyy-MM-dd date");
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private void checkField(int field) {
+        if (field < 0 || field >= fieldCount) {
+            throw new IllegalArgumentException("Row has " + fieldCount + " fields, wanted field " + field);
+        }
+    }
+
+    private IllegalArgumentException invalid(int field, String expected) {
+        return new IllegalArgumentException("Field " + field + " is not a " + expected + ": '"
+                + new String(line, starts[field], ends[field] - starts[field]) + "'");
+    }
+
+    @Override
+    public String toString() {
+        return new String(line, 0, length);
+    }
+
+    private static final double[] POW10 = new double[19];
+
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.covid_counter.ingest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.example.covid_counter.ingest.RowBinder.setDate;
+import static com.example.covid_counter.ingest.RowBinder.setDecimal;
+import static com.example.covid_counter.ingest.RowBinder.setLong;
+import static com.example.covid_counter.ingest.RowBinder.setString;
+
+/**
+ * The CSV files bundled in src/main/resources and the table each one fills.
+ *
+ * Columns are listed in CSV order, so field i of a row goes into parameter i + 1.
+ * Tables backed by an entity are created by Hibernate; covid_19_clean_complete
+ * has no entity, so its DDL lives here.
+ */
+public enum Dataset {
+
+    COUNTRY_WISE_LATEST("country-wise-latest", "country_wise_latest.csv", "country_wise_latest", null,
+            List.of("Country/Region", "Confirmed", "Deaths", "Recovered", "Active", "New cases", "New deaths",
+                    "New recovered", "Deaths / 100 Cases", "Recovered / 100 Cases", "Deaths / 100 Recovered",
+                    "Confirmed last week", "1 week change", "1 week % increase", "WHO Region"),
+            (ps, row) -> {
+                setString(ps, 1, row, 0);
+                for (int f = 1; f <= 7; f++) setLong(ps, f + 1, row, f);
+                for (int f = 8; f <= 10; f++) setDecimal(ps, f + 1, row, f);
+                setLong(ps, 12, row, 11);
+                setLong(ps, 13, row, 12);
+                setDecimal(ps, 14, row, 13);
+                setString(ps, 15, row, 14);
+            }),
+
+    DAY_WISE("day-wise", "day_wise.csv", "day_wise", null,
+            List.of("Date", "Confirmed", "Deaths", "Recovered", "Active", "New cases", "New deaths",
+                    "New recovered", "Deaths / 100 Cases", "Recovered / 100 Cases", "Deaths / 100 Recovered",
+                    "No. of countries"),
+            (ps, row) -> {
+                setDate(ps, 1, row, 0);
+                for (int f = 1; f <= 7; f++) setLong(ps, f + 1, row, f);
+                for (int f = 8; f <= 10; f++) setDecimal(ps, f + 1, row, f);
+                setLong(ps, 12, row, 11);
+            }),
+
+    WORLDOMETER("worldometer", "worldometer_data.csv", "worldometer_data", null,
+            List.of("Country/Region", "Continent", "Population", "TotalCases", "NewCases", "TotalDeaths",
+                    "NewDeaths", "TotalRecovered", "NewRecovered", "ActiveCases", "Serious,Critical",
+                    "Tot Cases/1M pop", "Deaths/1M pop", "TotalTests", "Tests/1M pop", "WHO Region"),
+            (ps, row) -> {
+                setString(ps, 1, row, 0);
+                setString(ps, 2, row, 1);
+                for (int f = 2; f <= 10; f++) setLong(ps, f + 1, row, f);
+                setDecimal(ps, 12, row, 11);
+                setDecimal(ps, 13, row, 12);
+                setLong(ps, 14, row, 13);
+                setDecimal(ps, 15, row, 14);
+                setString(ps, 16, row, 15);
+            }),
+
+    CLEAN_COMPLETE("clean-complete", "covid_19_clean_complete.csv", "covid_19_clean_complete",
+            """
+            CREATE TABLE IF NOT EXISTS `covid_19_clean_complete` (
+              `id` BIGINT NOT NULL AUTO_INCREMENT,
+              `Province/State` VARCHAR(64),
+              `Country/Region` VARCHAR(64) NOT NULL,
+              `Lat` DOUBLE,
+              `Long` DOUBLE,
+              `Date` DATE NOT NULL,
+              `Confirmed` BIGINT,
+              `Deaths` BIGINT,
+              `Recovered` BIGINT,
+              `Active` BIGINT,
+              `WHO Region` VARCHAR(32),
+              PRIMARY KEY (`id`),
+              KEY `idx_clean_complete_country_date` (`Country/Region`, `Date`)
+            )""",
+            List.of("Province/State", "Country/Region", "Lat", "Long", "Date", "Confirmed", "Deaths",
+                    "Recovered", "Active", "WHO Region"),
+            (ps, row) -> {
+                setString(ps, 1, row, 0);
+                setString(ps, 2, row, 1);
+                setDecimal(ps, 3, row, 2);
+                setDecimal(ps, 4, row, 3);
+                setDate(ps, 5, row, 4);
+                for (int f = 5; f <= 8; f++) setLong(ps, f + 1, row, f);
+                setString(ps, 10, row, 9);
+            }),
+
+    FULL_GROUPED("full-grouped", "full_grouped.csv", "full_grouped", null,
+            List.of("Date", "Country/Region", "Confirmed", "Deaths", "Recovered", "Active", "New cases",
+                    "New deaths", "New recovered", "WHO Region"),
+            (ps, row) -> {
+                setDate(ps, 1, row, 0);
+                setString(ps, 2, row, 1);
+                for (int f = 2; f <= 8; f++) setLong(ps, f + 1, row, f);
+                setString(ps, 10, row, 9);
+            });
+
+    private final String slug;
+    private final String resource;
+    private final String table;
+    private final String createTableSql;
+    private final List<String> columns;
+    private final RowBinder binder;
+
+    Dataset(String slug, String resource, String table, String createTableSql,
+            List<String> columns, RowBinder binder) {
+        this.slug = slug;
+        this.resource = resource;
+        this.table = table;
+        this.createTableSql = createTableSql;
+        this.columns = columns;
+        this.binder = binder;
+    }
+
+    /**
+     * Name used in URLs, e.g. POST /admin/ingest/full-grouped.
+     */
+    public String slug() {
+        return slug;
+    }
+
+    public String resource() {
+        return resource;
+    }
+
+    public String table() {
+        return table;
+    }
+
+    /**
+     * DDL for tables that no entity creates, or null.
+     */
+    public String createTableSql() {
+        return createTableSql;
+    }
+
+    public int columnCount() {
+        return columns.size();
+    }
+
+    public RowBinder binder() {
+        return binder;
+    }
+
+    public String insertSql() {
+        String names = columns.stream().map(c -> "`" + c + "`").collect(Collectors.joining(", "));
+        String params = columns.stream().map(c -> "?").collect(Collectors.joining(", "));
+        return "INSERT INTO `" + table + "` (" + names + ") VALUES (" + params + ")";
+    }
+
+    public String deleteSql() {
+        return "DELETE FROM `" + table + "`";
+    }
+
+    public static Dataset fromSlug(String slug) {
+        return Arrays.stream(values())
+                .filter(d -> d.slug.equalsIgnoreCase(slug) || d.name().equalsIgnoreCase(slug))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown dataset: " + slug));
+    }
+}
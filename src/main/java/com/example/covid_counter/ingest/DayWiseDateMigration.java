@@ -0,0 +1,55 @@
+package com.example.covid_counter.ingest;
+
+import com.example.covid_counter.event.TableReloadedEvent;
+import com.example.covid_counter.event.Tables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-off migration of day_wise.Date from text to a real DATE column.
+ *
+ * Older databases created the column as text; ddl-auto=update never changes column types,
+ * so this runs at startup (before the optional ingest) and converts it in place. The values
+ * are already ISO dates, which MySQL converts directly. Does nothing once the column is a DATE.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DayWiseDateMigration implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DayWiseDateMigration.class);
+
+    private static final String FIND_TEXT_COLUMN_SQL = """
+            SELECT COUNT(*) FROM information_schema.COLUMNS
+            WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'day_wise'
+              AND COLUMN_NAME = 'Date' AND DATA_TYPE <> 'date'
+            """;
+
+    private static final String MIGRATE_SQL = "ALTER TABLE `day_wise` MODIFY `Date` DATE NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher events;
+
+    public DayWiseDateMigration(JdbcTemplate jdbcTemplate, ApplicationEventPublisher events) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.events = events;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer textColumns = jdbcTemplate.queryForObject(FIND_TEXT_COLUMN_SQL, Integer.class);
+        if (textColumns == null || textColumns == 0) {
+            return;
+        }
+        long started = System.nanoTime();
+        jdbcTemplate.execute(MIGRATE_SQL);
+        log.info("Migrated day_wise.Date to DATE in {} ms", (System.nanoTime() - started) / 1_000_000);
+        events.publishEvent(new TableReloadedEvent(Tables.DAY_WISE));
+    }
+}
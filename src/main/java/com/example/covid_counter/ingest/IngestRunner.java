@@ -0,0 +1,30 @@
+package com.example.covid_counter.ingest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Optionally reloads all bundled datasets when the app starts.
+ * Off by default because a reload replaces whatever is in the tables.
+ */
+@Component
+public class IngestRunner implements ApplicationRunner {
+
+    private final CsvIngestService ingestService;
+    private final boolean enabled;
+
+    public IngestRunner(CsvIngestService ingestService,
+                        @Value("${app.ingest.on-startup:false}") boolean enabled) {
+        this.ingestService = ingestService;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            ingestService.ingestAll();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.covid_counter.ingest;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+
+/**
+ * Copies the fields of one CSV row into the parameters of an INSERT statement.
+ * Throwing IllegalArgumentException marks the row as rejected; the load carries on.
+ */
+@FunctionalInterface
+public interface RowBinder {
+
+    void bind(PreparedStatement ps, CsvRow row) throws SQLException;
+
+    // ---- Helpers shared by the dataset definitions ----
+
+    static void setString(PreparedStatement ps, int index, CsvRow row, int field) throws SQLException {
+        ps.setString(index, row.getString(field));
+    }
+
+    static void setLong(PreparedStatement ps, int index, CsvRow row, int field) throws SQLException {
+        if (row.isBlank(field)) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, row.getLong(field));
+        }
+    }
+
+    /**
+     * Decimal columns: blank, "inf" and "nan" are stored as NULL.
+     */
+    static void setDecimal(PreparedStatement ps, int index, CsvRow row, int field) throws SQLException {
+        double value = row.isBlank(field) ? Double.NaN : row.getDouble(field);
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            ps.setNull(index, Types.DECIMAL);
+        } else {
+            ps.setDouble(index, value);
+        }
+    }
+
+    static void setDate(PreparedStatement ps, int index, CsvRow row, int field) throws SQLException {
+        ps.setObject(index, LocalDate.ofEpochDay(row.getEpochDay(field)));
+    }
+}
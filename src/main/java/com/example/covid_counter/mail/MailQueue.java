@@ -0,0 +1,277 @@
+package com.example.covid_counter.mail;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outbound mail pipeline.
+ *
+ * Callers drop messages into a bounded queue and return straight away. A few virtual-thread
+ * workers drain the queue in batches and hand each batch to JavaMailSender in one call, which
+ * sends the whole batch over a single SMTP connection instead of one handshake per mail.
+ *
+ * Failed messages are retried with exponential backoff; once they run out of attempts they
+ * are written to the "mail.dead-letter" log so nothing disappears silently. That includes
+ * shutdown: retries still waiting for their backoff and mail left in the queue after the
+ * grace period are dead-lettered too.
+ *
+ * The queue starts before and stops after the web server (see getPhase()), so requests
+ * finishing during graceful shutdown can still queue their mail and have it sent.
+ *
+ * Metrics: mail.queue.pending, mail.queue.sent, mail.queue.dead-lettered and
+ * mail.queue.send (time per SMTP batch).
+ */
+@Component
+public class MailQueue implements SmartLifecycle, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(MailQueue.class);
+    private static final Logger deadLetters = LoggerFactory.getLogger("mail.dead-letter");
+
+    private final JavaMailSender mailSender;
+    private final BlockingQueue<PendingMail> queue;
+    private final int workers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+
+    private final List<Thread> workerThreads = new ArrayList<>();
+    // Retries waiting for their backoff, by sequence number. Whoever removes an entry owns it:
+    // the retry task queues it, stop() dead-letters it.
+    private final Map<Long, PendingMail> scheduledRetries = new ConcurrentHashMap<>();
+    private final AtomicLong retrySequence = new AtomicLong();
+    private ScheduledExecutorService retryScheduler;
+    private volatile boolean running;
+    // Set once a meter registry binds this queue; tests run without one.
+    private volatile Timer sendTimer;
+
+    public MailQueue(JavaMailSender mailSender,
+                     @Value("${app.mail.queue.capacity:1000}") int capacity,
+                     @Value("${app.mail.queue.workers:2}") int workers,
+                     @Value("${app.mail.queue.batch-size:50}") int batchSize,
+                     @Value("${app.mail.queue.max-attempts:4}") int maxAttempts,
+                     @Value("${app.mail.queue.retry-backoff-ms:1000}") long retryBackoffMs) {
+        this.mailSender = mailSender;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+    }
+
+    /**
+     * Queue a message for sending.
+     *
+     * @return false if the queue is full or stopped (the caller should fail fast rather than wait)
+     */
+    public boolean enqueue(SimpleMailMessage message) {
+        return running && queue.offer(new PendingMail(message, 1));
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    public long sentCount() {
+        return sent.get();
+    }
+
+    public long deadLetterCount() {
+        return deadLettered.get();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("mail-retry").factory());
+        for (int i = 0; i < workers; i++) {
+            workerThreads.add(Thread.ofVirtual().name("mail-worker-" + i).start(this::drainLoop));
+        }
+    }
+
+    /**
+     * Stops accepting mail and retries, and lets the workers finish what is already queued.
+     */
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        retryScheduler.shutdownNow();
+        try {
+            // A retry task that already started finishes handing its mail to the queue.
+            retryScheduler.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Long id : scheduledRetries.keySet()) {
+            PendingMail waiting = scheduledRetries.remove(id);
+            if (waiting != null) {
+                deadLetter(waiting, "shutdown before retry");
+            }
+        }
+        for (Thread worker : workerThreads) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workerThreads.clear();
+        // Anything still queued after the grace period will never be sent.
+        PendingMail leftover;
+        while ((leftover = queue.poll()) != null) {
+            deadLetter(leftover, "shutdown");
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Lower phases start earlier and stop later: this one stops after the web server,
+    // which itself stops after graceful shutdown has let in-flight requests finish.
+    @Override
+    public int getPhase() {
+        return WebServerApplicationContext.START_STOP_LIFECYCLE_PHASE - 1024;
+    }
+
+    private void drainLoop() {
+        List<PendingMail> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingMail first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                sendBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Never let one bad batch kill the worker.
+                log.error("Mail worker failed on a batch of {}", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mail.queue.pending", this, MailQueue::pending).register(registry);
+        FunctionCounter.builder("mail.queue.sent", this, MailQueue::sentCount).register(registry);
+        FunctionCounter.builder("mail.queue.dead-lettered", this, MailQueue::deadLetterCount).register(registry);
+        sendTimer = Timer.builder("mail.queue.send").description("One SMTP batch").register(registry);
+    }
+
+    private void recordSend(long startedNanos) {
+        Timer timer = sendTimer;
+        if (timer != null) {
+            timer.record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void sendBatch(List<PendingMail> batch) {
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < messages.length; i++) {
+            messages[i] = batch.get(i).message();
+        }
+        long started = System.nanoTime();
+        try {
+            mailSender.send(messages);
+            recordSend(started);
+            sent.addAndGet(messages.length);
+        } catch (MailSendException e) {
+            recordSend(started);
+            // Only the messages listed as failed need another go; the rest were delivered.
+            Map<Object, Exception> failed = e.getFailedMessages();
+            int retried = 0;
+            for (PendingMail mail : batch) {
+                if (failed.isEmpty() || failed.containsKey(mail.message())) {
+                    retry(mail, e);
+                    retried++;
+                }
+            }
+            sent.addAndGet(batch.size() - retried);
+        } catch (RuntimeException e) {
+            recordSend(started);
+            // Connection or authentication problems: nothing in the batch went out.
+            for (PendingMail mail : batch) {
+                retry(mail, e);
+            }
+        }
+    }
+
+    private void retry(PendingMail mail, Exception cause) {
+        if (mail.attempt() >= maxAttempts || !running) {
+            deadLetter(mail, cause.getMessage());
+            return;
+        }
+        long delay = retryBackoffMs << (mail.attempt() - 1);
+        log.warn("Mail to {} failed (attempt {}/{}), retrying in {} ms: {}",
+                recipients(mail), mail.attempt(), maxAttempts, delay, cause.getMessage());
+        PendingMail next = new PendingMail(mail.message(), mail.attempt() + 1);
+        long id = retrySequence.incrementAndGet();
+        scheduledRetries.put(id, next);
+        try {
+            retryScheduler.schedule(() -> {
+                if (scheduledRetries.remove(id) != null && !queue.offer(next)) {
+                    deadLetter(next, "queue full on retry");
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException rejected) {
+            if (scheduledRetries.remove(id) != null) {
+                deadLetter(next, "retry scheduler stopped");
+            }
+        }
+    }
+
+    private void deadLetter(PendingMail mail, String reason) {
+        deadLettered.incrementAndGet();
+        // Recipient and subject only: the body may contain a one-time code.
+        deadLetters.error("Giving up on mail to {} subject='{}' after {} attempt(s): {}",
+                recipients(mail), mail.message().getSubject(), mail.attempt(), reason);
+    }
+
+    private static String recipients(PendingMail mail) {
+        String[] to = mail.message().getTo();
+        return to == null ? "[]" : String.join(",", to);
+    }
+
+    private record PendingMail(SimpleMailMessage message, int attempt) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.covid_counter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Outcome of one bulk PATCH request.
+ */
+@Data
+@AllArgsConstructor
+public class BulkUpdateReport {
+    private String table;          // target table name
+    private int received;          // rows in the request body
+    private int updated;           // rows whose values actually changed
+    private int unchanged;         // rows found but already holding those values
+    private List<String> missing;  // ids in the request that are not in the table
+    private long millis;           // time to load and patch the rows (the flush and commit come after)
+}
@@ -0,0 +1,17 @@
+package com.example.covid_counter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * One entry of the /changes/stream feed.
+ */
+@Data
+@AllArgsConstructor
+public class ChangeEvent {
+    private long id;        // increasing sequence number, also sent as the SSE id
+    private String table;   // table name, e.g. "country_wise_latest"
+    private String type;    // "update" (one row, see row) or "reload" (refetch the table)
+    private Object key;     // primary key of the changed row; null for reloads
+    private Object row;     // row contents after the change; null for reloads
+}
@@ -0,0 +1,14 @@
+package com.example.covid_counter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * One metric summed over a country's provinces.
+ */
+@Data
+@AllArgsConstructor
+public class CountryTotal {
+    private String country;
+    private long value;
+}
@@ -1,14 +1,20 @@
 package com.example.covid_counter.model;
 
+import com.example.covid_counter.repo.CacheRegions;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 
 @Entity
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.COUNTRY_WISE_LATEST)
 @Data
 @Table(name = "country_wise_latest")
 public class CountryWiseLatest {
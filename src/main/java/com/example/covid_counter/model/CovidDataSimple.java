@@ -1,15 +1,21 @@
 package com.example.covid_counter.model;
 
+import com.example.covid_counter.repo.CacheRegions;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * Maps to table covid_data_1000_records_simple_id.
  */
 @Entity
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.COVID_DATA)
 @Data
 @Table(name = "covid_data_1000_records_simple_id")
 public class CovidDataSimple {
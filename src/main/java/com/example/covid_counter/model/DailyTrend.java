@@ -0,0 +1,33 @@
+package com.example.covid_counter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Trend of one day_wise metric: the raw values plus rolling average, day-over-day growth
+ * and doubling time, one entry per day starting at {@code from}.
+ *
+ * Entries are null where they are not defined yet (e.g. the first window-1 averages,
+ * or growth after a day with value 0).
+ */
+@Data
+@AllArgsConstructor
+public class DailyTrend {
+    private String metric;
+    private int window;
+    private LocalDate from;
+    private int days;
+    private long[] values;
+    // Mean of the last `window` days, ending on this day.
+    private Double[] average;
+    // Percent change compared to the day before.
+    private Double[] growthPercent;
+    // Days it takes the value to double at the growth rate of the last `window` days.
+    private Double[] doublingDays;
+    private LocalDate peakDate;
+    private long peakValue;
+    private LocalDate peakAverageDate;
+    private Double peakAverage;
+}
@@ -1,24 +1,31 @@
 package com.example.covid_counter.model;
 
+import com.example.covid_counter.repo.CacheRegions;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 /**
  * Maps to the day_wise table (one row per date).
  */
 @Entity
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.DAY_WISE)
 @Data
 @Table(name = "day_wise")
 public class DayWise {
 
     @Id
     @Column(name = "Date")
-    private String date;
+    private LocalDate date;
 
     @Column(name = "Confirmed")
     private Long confirmed;
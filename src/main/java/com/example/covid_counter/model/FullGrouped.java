@@ -0,0 +1,53 @@
+package com.example.covid_counter.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Maps to the full_grouped table: daily figures per country (from full_grouped.csv).
+ * The (country, date) primary key doubles as the index for per-country range scans.
+ */
+@Entity
+@Data
+@IdClass(FullGroupedId.class)
+@Table(name = "full_grouped")
+public class FullGrouped {
+
+    @Id
+    @Column(name = "Country/Region", length = 64)
+    private String countryRegion;
+
+    @Id
+    @Column(name = "Date")
+    private LocalDate date;
+
+    @Column(name = "Confirmed")
+    private Long confirmed;
+
+    @Column(name = "Deaths")
+    private Long deaths;
+
+    @Column(name = "Recovered")
+    private Long recovered;
+
+    @Column(name = "Active")
+    private Long active;
+
+    @Column(name = "New cases")
+    private Long newCases;
+
+    @Column(name = "New deaths")
+    private Long newDeaths;
+
+    @Column(name = "New recovered")
+    private Long newRecovered;
+
+    @Column(name = "WHO Region", length = 32)
+    private String whoRegion;
+}
@@ -0,0 +1,19 @@
+package com.example.covid_counter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Composite primary key of full_grouped: one row per (country, date).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FullGroupedId implements Serializable {
+    private String countryRegion;
+    private LocalDate date;
+}
@@ -0,0 +1,18 @@
+package com.example.covid_counter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * The day on which a country's metric grew the most compared to the day before.
+ */
+@Data
+@AllArgsConstructor
+public class GrowthDay {
+    private String country;
+    private String metric;
+    private LocalDate date;
+    private long increase;
+}
@@ -0,0 +1,17 @@
+package com.example.covid_counter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Outcome of loading one bundled CSV file into its table.
+ */
+@Data
+@AllArgsConstructor
+public class IngestReport {
+    private String dataset;      // e.g. "full-grouped"
+    private String table;        // target table name
+    private long rowsLoaded;     // rows written to the table
+    private long rowsRejected;   // malformed rows that were skipped
+    private long millis;         // wall time for the whole load
+}
@@ -0,0 +1,19 @@
+package com.example.covid_counter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of a keyset-paginated listing.
+ * Pass nextAfter back as ?after= to get the following page; it is null on the last page.
+ */
+@Data
+@AllArgsConstructor
+public class KeysetPage {
+    private List<Map<String, Object>> items; // only the requested fields (always including the id)
+    private Object nextAfter;
+    private boolean hasMore;
+}
@@ -0,0 +1,24 @@
+package com.example.covid_counter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * One province (or a whole country when it has no provinces) on a map, with its numbers on a date.
+ */
+@Data
+@AllArgsConstructor
+public class ProvincePoint {
+    private String country;
+    private String province;    // null when the country has no province breakdown
+    private double latitude;
+    private double longitude;
+    private LocalDate date;
+    private long confirmed;
+    private long deaths;
+    private long recovered;
+    private long active;
+    private Double distanceKm;  // only set for "near" queries
+}
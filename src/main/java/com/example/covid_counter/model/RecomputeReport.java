@@ -0,0 +1,15 @@
+package com.example.covid_counter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Outcome of recomputing the derived columns of a table.
+ */
+@Data
+@AllArgsConstructor
+public class RecomputeReport {
+    private String table;      // target table name
+    private long rowsChanged;  // rows whose derived values were different before
+    private long millis;       // wall time of the UPDATE, including the commit
+}
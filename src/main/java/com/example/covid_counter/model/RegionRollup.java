@@ -0,0 +1,22 @@
+package com.example.covid_counter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Summed figures of one WHO region or continent.
+ * Per-million rates are null when no population is known for the group.
+ */
+@Data
+@AllArgsConstructor
+public class RegionRollup {
+    private String region;
+    private long countries;
+    private long confirmed;
+    private long deaths;
+    private long active;
+    private long population;
+    private Double confirmedPerMillion;
+    private Double deathsPerMillion;
+    private Double activePerMillion;
+}
@@ -0,0 +1,20 @@
+package com.example.covid_counter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Daily totals of one metric per WHO region.
+ * series.get(region)[i] is the value on startDate + i days.
+ */
+@Data
+@AllArgsConstructor
+public class RegionSeries {
+    private String metric;
+    private LocalDate startDate;
+    private int days;
+    private Map<String, long[]> series;
+}
@@ -0,0 +1,17 @@
+package com.example.covid_counter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Province-level figures summed per WHO region for one date.
+ */
+@Data
+@AllArgsConstructor
+public class RegionTotals {
+    private String whoRegion;
+    private long confirmed;
+    private long deaths;
+    private long recovered;
+    private long active;
+}
@@ -0,0 +1,16 @@
+package com.example.covid_counter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Response of GET /rollups: one row per WHO region and one per continent.
+ */
+@Data
+@AllArgsConstructor
+public class Rollups {
+    private List<RegionRollup> whoRegions;   // from country_wise_latest
+    private List<RegionRollup> continents;   // from worldometer_data
+}
@@ -0,0 +1,59 @@
+package com.example.covid_counter.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Numeric columns of full_grouped that /series can return.
+ * Doubles as a whitelist: only these column names ever reach the SQL.
+ */
+public enum SeriesField {
+    CONFIRMED("confirmed", "Confirmed"),
+    DEATHS("deaths", "Deaths"),
+    RECOVERED("recovered", "Recovered"),
+    ACTIVE("active", "Active"),
+    NEW_CASES("newCases", "New cases"),
+    NEW_DEATHS("newDeaths", "New deaths"),
+    NEW_RECOVERED("newRecovered", "New recovered");
+
+    private final String jsonName;
+    private final String column;
+
+    SeriesField(String jsonName, String column) {
+        this.jsonName = jsonName;
+        this.column = column;
+    }
+
+    public String jsonName() {
+        return jsonName;
+    }
+
+    public String column() {
+        return column;
+    }
+
+    /**
+     * Parse a comma separated list such as "confirmed,newCases".
+     * Blank means every field.
+     *
+     * @throws IllegalArgumentException for unknown names
+     */
+    public static List<SeriesField> parseList(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return List.of(values());
+        }
+        List<SeriesField> result = new ArrayList<>();
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            SeriesField field = Arrays.stream(values())
+                    .filter(f -> f.jsonName.equalsIgnoreCase(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown series field: " + trimmed));
+            if (!result.contains(field)) {
+                result.add(field);
+            }
+        }
+        return result;
+    }
+}
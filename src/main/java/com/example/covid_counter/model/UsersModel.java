@@ -28,15 +28,19 @@ public class UsersModel {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    // Mark whether the user has recently passed OTP (set true on successful verification).
+    // Whether the user has passed OTP at least once (set on the first successful verification).
     @Column(name = "verified")
     private Boolean verified;
 
-    // Last OTP code sent to the user (for simple demo storage).
+    // Pending OTP, only used with app.otp.store=database (see UsersOtpChallengeStore).
     @Column(name = "otp_code")
     private String otpCode;
 
     // When the OTP expires. After this time, the code is invalid.
     @Column(name = "otp_expires_at")
     private LocalDateTime otpExpiresAt;
+
+    // Wrong codes entered for the pending OTP.
+    @Column(name = "otp_attempts")
+    private Integer otpAttempts;
 }
@@ -0,0 +1,61 @@
+package com.example.covid_counter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * worldometer_data as "struct of arrays": each field name is sent once, followed by the
+ * values of all rows. Index i of every array belongs to the same country.
+ * Much smaller than a list of objects, and cheaper to serialise.
+ */
+@Data
+@AllArgsConstructor
+public class WorldometerColumns {
+    private int count;
+    private String[] countryRegion;
+    private String[] continent;
+    private Long[] population;
+    private Long[] totalCases;
+    private Long[] newCases;
+    private Long[] totalDeaths;
+    private Long[] newDeaths;
+    private Long[] totalRecovered;
+    private Long[] newRecovered;
+    private Long[] activeCases;
+    private Long[] seriousCritical;
+    private BigDecimal[] totCasesPer1Mpop;
+    private BigDecimal[] deathsPer1Mpop;
+    private Long[] totalTests;
+    private BigDecimal[] testsPer1Mpop;
+    private String[] whoRegion;
+
+    public static WorldometerColumns of(List<WorldometerData> rows) {
+        int n = rows.size();
+        WorldometerColumns c = new WorldometerColumns(n, new String[n], new String[n], new Long[n], new Long[n],
+                new Long[n], new Long[n], new Long[n], new Long[n], new Long[n], new Long[n], new Long[n],
+                new BigDecimal[n], new BigDecimal[n], new Long[n], new BigDecimal[n], new String[n]);
+        for (int i = 0; i < n; i++) {
+            WorldometerData w = rows.get(i);
+            c.countryRegion[i] = w.getCountryRegion();
+            c.continent[i] = w.getContinent();
+            c.population[i] = w.getPopulation();
+            c.totalCases[i] = w.getTotalCases();
+            c.newCases[i] = w.getNewCases();
+            c.totalDeaths[i] = w.getTotalDeaths();
+            c.newDeaths[i] = w.getNewDeaths();
+            c.totalRecovered[i] = w.getTotalRecovered();
+            c.newRecovered[i] = w.getNewRecovered();
+            c.activeCases[i] = w.getActiveCases();
+            c.seriousCritical[i] = w.getSeriousCritical();
+            c.totCasesPer1Mpop[i] = w.getTotCasesPer1Mpop();
+            c.deathsPer1Mpop[i] = w.getDeathsPer1Mpop();
+            c.totalTests[i] = w.getTotalTests();
+            c.testsPer1Mpop[i] = w.getTestsPer1Mpop();
+            c.whoRegion[i] = w.getWhoRegion();
+        }
+        return c;
+    }
+}
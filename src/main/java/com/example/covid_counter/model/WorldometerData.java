@@ -1,10 +1,14 @@
 package com.example.covid_counter.model;
 
+import com.example.covid_counter.repo.CacheRegions;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 
@@ -14,6 +18,8 @@ import java.math.BigDecimal;
  * This mirrors the columns you listed from the DB.
  */
 @Entity
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.WORLDOMETER)
 @Data
 @Table(name = "worldometer_data")
 public class WorldometerData {
@@ -0,0 +1,22 @@
+package com.example.covid_counter.repo;
+
+import com.example.covid_counter.event.Tables;
+
+/**
+ * Names of the Hibernate second-level cache regions (see SecondLevelCacheConfig), one per
+ * cached entity, named after its table.
+ *
+ * There is no query cache: the reads that used to go through derived finders are served from
+ * the in-memory snapshots (cache package), so the only lookups left for Hibernate to cache are
+ * the findById calls in the update paths.
+ */
+public final class CacheRegions {
+
+    public static final String COUNTRY_WISE_LATEST = Tables.COUNTRY_WISE_LATEST;
+    public static final String WORLDOMETER = Tables.WORLDOMETER;
+    public static final String DAY_WISE = Tables.DAY_WISE;
+    public static final String COVID_DATA = Tables.COVID_DATA;
+
+    private CacheRegions() {
+    }
+}
@@ -1,17 +1,21 @@
 package com.example.covid_counter.repo;
 
 import com.example.covid_counter.model.CountryWiseLatest;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-import java.util.List;
+import java.util.stream.Stream;
 
 public interface CountryWiseLatestRepo extends JpaRepository<CountryWiseLatest, String> {
 
-    List<CountryWiseLatest> findByWhoRegion(String whoRegion);
-
-    List<CountryWiseLatest> findByActiveLessThan(Long active);
-
-    List<CountryWiseLatest> findByActiveGreaterThan(Long active);
-
-    List<CountryWiseLatest> findByRecovered(Long recovered);
+    // Whole table for exports; see StreamingHints.
+    @Query("select c from CountryWiseLatest c")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingHints.MYSQL_STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<CountryWiseLatest> streamAll();
 }
@@ -1,13 +1,21 @@
 package com.example.covid_counter.repo;
 
 import com.example.covid_counter.model.CovidDataSimple;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-import java.util.List;
+import java.util.stream.Stream;
 
 public interface CovidDataSimpleRepo extends JpaRepository<CovidDataSimple, Long> {
 
-    List<CovidDataSimple> findByCountryStartingWithIgnoreCase(String countryPrefix);
-
-    List<CovidDataSimple> findByRegionStartingWithIgnoreCase(String regionPrefix);
+    // Whole table for exports; see StreamingHints.
+    @Query("select c from CovidDataSimple c")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingHints.MYSQL_STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<CovidDataSimple> streamAll();
 }
@@ -1,11 +1,22 @@
 package com.example.covid_counter.repo;
 
 import com.example.covid_counter.model.DayWise;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-import java.util.List;
+import java.time.LocalDate;
+import java.util.stream.Stream;
 
-public interface DayWiseRepo extends JpaRepository<DayWise, String> {
+public interface DayWiseRepo extends JpaRepository<DayWise, LocalDate> {
 
-    List<DayWise> findByDateStartingWith(String datePrefix);
+    // Whole table for exports; see StreamingHints.
+    @Query("select d from DayWise d")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingHints.MYSQL_STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<DayWise> streamAll();
 }
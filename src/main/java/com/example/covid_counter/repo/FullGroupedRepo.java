@@ -0,0 +1,24 @@
+package com.example.covid_counter.repo;
+
+import com.example.covid_counter.model.FullGrouped;
+import com.example.covid_counter.model.FullGroupedId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.stream.Stream;
+
+public interface FullGroupedRepo extends JpaRepository<FullGrouped, FullGroupedId> {
+
+    boolean existsByCountryRegion(String countryRegion);
+
+    // Whole table for exports; see StreamingHints.
+    @Query("select f from FullGrouped f")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingHints.MYSQL_STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<FullGrouped> streamAll();
+}
@@ -0,0 +1,37 @@
+package com.example.covid_counter.repo;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread, so the web layer can
+ * report statements per request (see SqlStatementMetricsFilter). Registered through
+ * spring.jpa.properties.hibernate.session_factory.statement_inspector; the SQL is not changed.
+ *
+ * Plain JdbcTemplate queries (exports, series streaming, ingest) do not go through Hibernate
+ * and are not counted.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public static int count() {
+        return COUNT.get()[0];
+    }
+
+    /**
+     * Forget the counter of this thread (request threads may be pooled).
+     */
+    public static void clear() {
+        COUNT.remove();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.covid_counter.repo;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Query hint values for repository methods that return a Stream over a whole table
+ * (the streamAll() methods used by exports), and the same setting for plain JDBC reads.
+ *
+ * With these hints rows arrive one by one and are read-only (no dirty-checking snapshots),
+ * so memory stays flat however big the table is. Such a stream must be consumed inside a
+ * transaction and closed.
+ */
+public final class StreamingHints {
+
+    // MySQL Connector/J only streams row by row (instead of buffering the whole result)
+    // with this special fetch size, Integer.MIN_VALUE.
+    public static final String MYSQL_STREAMING_FETCH_SIZE = "" + Integer.MIN_VALUE;
+
+    /**
+     * A JdbcTemplate whose queries stream rows the same way. A row callback must finish with
+     * the result set before the next query runs on the same connection.
+     */
+    public static JdbcTemplate streamingJdbcTemplate(DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(Integer.parseInt(MYSQL_STREAMING_FETCH_SIZE));
+        return jdbcTemplate;
+    }
+
+    private StreamingHints() {
+    }
+}
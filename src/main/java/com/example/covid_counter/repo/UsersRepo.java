@@ -1,11 +1,29 @@
 package com.example.covid_counter.repo;
 
 import java.util.Optional;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Repository;
 import com.example.covid_counter.model.UsersModel;
 
 @Repository
 public interface UsersRepo extends JpaRepository<UsersModel, Long> {
     Optional<UsersModel> findByEmail(String email);
+
+    // SELECT ... FOR UPDATE: concurrent callers for the same user wait until the first commits.
+    // Must be called inside a transaction.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u from UsersModel u where u.email = :email")
+    Optional<UsersModel> findByEmailForUpdate(@Param("email") String email);
+
+    // Single UPDATE, no read first; returns the number of rows changed.
+    @Modifying
+    @Transactional
+    @Query("update UsersModel u set u.verified = true where u.email = :email")
+    int markVerified(@Param("email") String email);
 }
@@ -1,19 +1,21 @@
 package com.example.covid_counter.repo;
 
 import com.example.covid_counter.model.WorldometerData;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-import java.util.List;
+import java.util.stream.Stream;
 
 public interface WorldometerDataRepo extends JpaRepository<WorldometerData, String> {
 
-    // Find by country prefix (case-insensitive) for quick search-as-you-type.
-    List<WorldometerData> findByCountryRegionStartingWithIgnoreCase(String countryRegion);
-
-    // Find by continent prefix (case-insensitive).
-    List<WorldometerData> findByContinentStartingWithIgnoreCase(String continent);
-
-    // Combined filter: country AND continent prefixes.
-    List<WorldometerData> findByCountryRegionStartingWithIgnoreCaseAndContinentStartingWithIgnoreCase(
-            String countryRegion, String continent);
+    // Whole table for exports; see StreamingHints.
+    @Query("select w from WorldometerData w")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingHints.MYSQL_STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<WorldometerData> streamAll();
 }
@@ -0,0 +1,50 @@
+package com.example.covid_counter.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits for /auth/login and /auth/register: one token bucket per client IP and one per
+ * email address, so neither a single client nor a run against a single account can flood
+ * the password hasher. Refused requests fail straight away with 429.
+ */
+@Component
+public class AuthRateLimiter {
+
+    private final TokenBucketRateLimiter byIp;
+    private final TokenBucketRateLimiter byEmail;
+
+    public AuthRateLimiter(@Value("${app.auth.rate.ip.per-minute:30}") int ipPerMinute,
+                           @Value("${app.auth.rate.ip.burst:10}") int ipBurst,
+                           @Value("${app.auth.rate.email.per-minute:6}") int emailPerMinute,
+                           @Value("${app.auth.rate.email.burst:3}") int emailBurst,
+                           @Value("${app.auth.rate.max-keys:100000}") int maxKeys) {
+        this.byIp = new TokenBucketRateLimiter(ipPerMinute, ipBurst, maxKeys, System::nanoTime);
+        this.byEmail = new TokenBucketRateLimiter(emailPerMinute, emailBurst, maxKeys, System::nanoTime);
+    }
+
+    /**
+     * @throws TooManyRequestsException if either the IP or the email is over its limit
+     */
+    public void check(String clientIp, String email) {
+        long waitNanos = byIp.tryAcquire(clientIp == null ? "" : clientIp);
+        if (waitNanos > 0) {
+            throw new TooManyRequestsException("Too many attempts from this address. Try again later.",
+                    ceilSeconds(waitNanos));
+        }
+        if (email != null && !email.isBlank()) {
+            waitNanos = byEmail.tryAcquire(email.trim().toLowerCase(Locale.ROOT));
+            if (waitNanos > 0) {
+                throw new TooManyRequestsException("Too many attempts for this account. Try again later.",
+                        ceilSeconds(waitNanos));
+            }
+        }
+    }
+
+    private static long ceilSeconds(long nanos) {
+        return TimeUnit.NANOSECONDS.toSeconds(nanos + TimeUnit.SECONDS.toNanos(1) - 1);
+    }
+}
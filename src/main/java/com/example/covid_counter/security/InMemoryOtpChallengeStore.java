@@ -0,0 +1,152 @@
+package com.example.covid_counter.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pending OTPs in a ConcurrentHashMap, so login and verify never touch the users table.
+ *
+ * Expired challenges are removed by a timer wheel: one queue of emails per second of expiry,
+ * in a ring of WHEEL_SLOTS slots. Once a second the sweeper drains only the slots whose second
+ * has passed, instead of scanning every entry. Challenges that expire more than one turn of the
+ * wheel ahead simply stay in their slot until their turn comes round.
+ *
+ * Codes only live in this JVM: with several nodes behind a load balancer use app.otp.store=database.
+ */
+@Component
+@ConditionalOnProperty(name = "app.otp.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOtpChallengeStore implements OtpChallengeStore, AutoCloseable {
+
+    static final int WHEEL_SLOTS = 512;
+
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private final Queue<String>[] wheel;
+    private final int maxAttempts;
+    private final Clock clock;
+    private final ScheduledExecutorService sweeper;
+    // Last second whose slot has been swept; only the sweeper thread touches it.
+    private long sweptUpTo;
+
+    public InMemoryOtpChallengeStore(@Value("${app.otp.max-attempts:5}") int maxAttempts) {
+        this(maxAttempts, Clock.systemUTC());
+        sweeper.scheduleWithFixedDelay(this::sweep, 1, 1, TimeUnit.SECONDS);
+    }
+
+    // Tests pass their own clock and call sweep() themselves.
+    @SuppressWarnings("unchecked")
+    InMemoryOtpChallengeStore(int maxAttempts, Clock clock) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.clock = clock;
+        this.wheel = new Queue[WHEEL_SLOTS];
+        for (int i = 0; i < WHEEL_SLOTS; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.sweptUpTo = clock.instant().getEpochSecond() - 1;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "otp-expiry");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @Override
+    public void save(OtpChallenge challenge) {
+        String key = key(challenge.email());
+        pending.put(key, new Pending(challenge));
+        wheel[slotOf(challenge.expiresAt().getEpochSecond())].add(key);
+    }
+
+    @Override
+    public OtpChallenge consume(String email, String code) {
+        String key = key(email);
+        Pending entry = pending.get(key);
+        if (entry == null) {
+            throw new RuntimeException("No OTP pending. Please login again.");
+        }
+        if (clock.instant().isAfter(entry.challenge.expiresAt())) {
+            pending.remove(key, entry);
+            throw new RuntimeException("OTP expired. Please login again.");
+        }
+        int attempt = entry.attempts.incrementAndGet();
+        if (attempt > maxAttempts) {
+            pending.remove(key, entry);
+            throw new RuntimeException("Too many attempts. Please login again.");
+        }
+        if (!OtpChallengeStore.codesMatch(entry.challenge.code(), code)) {
+            if (attempt == maxAttempts) {
+                pending.remove(key, entry);
+            }
+            throw new RuntimeException("Invalid OTP code.");
+        }
+        // Only one concurrent verify of the same code may succeed.
+        if (!pending.remove(key, entry)) {
+            throw new RuntimeException("No OTP pending. Please login again.");
+        }
+        return entry.challenge;
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * Drain the wheel slots of every second that has passed since the last sweep.
+     */
+    void sweep() {
+        Instant now = clock.instant();
+        long nowSecond = now.getEpochSecond();
+        // After a long pause one full turn covers every slot.
+        long from = Math.max(sweptUpTo + 1, nowSecond - WHEEL_SLOTS + 1);
+        for (long second = from; second <= nowSecond; second++) {
+            Queue<String> slot = wheel[slotOf(second)];
+            // Only look at what is queued now; keys put back below wait for the next turn.
+            for (int n = slot.size(); n > 0; n--) {
+                String key = slot.poll();
+                if (key == null) {
+                    break;
+                }
+                Pending entry = pending.computeIfPresent(key,
+                        (k, e) -> e.challenge.expiresAt().isAfter(now) ? e : null);
+                if (entry != null && slotOf(entry.challenge.expiresAt().getEpochSecond()) == slotOf(second)) {
+                    slot.add(key);
+                }
+            }
+        }
+        sweptUpTo = nowSecond;
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+    }
+
+    private static int slotOf(long epochSecond) {
+        return (int) Math.floorMod(epochSecond, (long) WHEEL_SLOTS);
+    }
+
+    private static String key(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Pending {
+        final OtpChallenge challenge;
+        final AtomicInteger attempts = new AtomicInteger();
+
+        Pending(OtpChallenge challenge) {
+            this.challenge = challenge;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.covid_counter.security;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -21,10 +24,20 @@ import org.springframework.util.AntPathMatcher;
 public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache tokenCache;
     private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
 
-    public JwtFilter(JwtUtil jwtUtil) {
+    // auth.jwt.verify{result=cached|verified|invalid}: time spent checking the token.
+    private final Timer cachedTimer;
+    private final Timer verifiedTimer;
+    private final Timer invalidTimer;
+
+    public JwtFilter(JwtUtil jwtUtil, VerifiedTokenCache tokenCache, MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
+        this.tokenCache = tokenCache;
+        this.cachedTimer = verifyTimer(meterRegistry, "cached");
+        this.verifiedTimer = verifyTimer(meterRegistry, "verified");
+        this.invalidTimer = verifyTimer(meterRegistry, "invalid");
     }
 
     @Override
@@ -57,26 +70,42 @@ public class JwtFilter extends OncePerRequestFilter {
             return;
         }
 
-        String email;
-        try {
-            email = jwtUtil.extractEmail(bearerToken);
-        } catch (Exception e) {
-            filterChain.doFilter(request, response);
-            return;
+        // Repeat requests with the same token skip parsing and the signature check.
+        long started = System.nanoTime();
+        VerifiedToken verified = tokenCache.get(bearerToken);
+        if (verified == null) {
+            try {
+                // One parse checks signature and expiry and yields the email.
+                verified = jwtUtil.verify(bearerToken);
+            } catch (Exception e) {
+                invalidTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                filterChain.doFilter(request, response);
+                return;
+            }
+            tokenCache.put(bearerToken, verified);
+            verifiedTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        } else {
+            cachedTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
         }
 
+        String email = verified.email();
         if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (jwtUtil.validateToken(bearerToken, email)) {
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(email, null, null);
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+            UsernamePasswordAuthenticationToken authToken =
+                    new UsernamePasswordAuthenticationToken(email, null, null);
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
 
         filterChain.doFilter(request, response);
     }
 
+    private static Timer verifyTimer(MeterRegistry registry, String result) {
+        return Timer.builder("auth.jwt.verify")
+                .description("JWT check in JwtFilter")
+                .tag("result", result)
+                .register(registry);
+    }
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getServletPath();
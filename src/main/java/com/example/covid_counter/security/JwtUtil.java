@@ -7,6 +7,7 @@ import java.util.Date;
 import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -30,6 +31,11 @@ public class JwtUtil {
     private static final String SECRET = "SUPER_SECRET_KEY_SUPER_SECRET_KEY_32B";
     private final Key signingKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
 
+    // Built once: a JwtParser is immutable and thread-safe, and building one is expensive.
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(signingKey)
+            .build();
+
     // Token validity time (example: 24 hours)
     private final long EXPIRATION_TIME = 1000 * 60 * 60 * 24;
 
@@ -48,6 +54,18 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Parses and verifies the token once (signature + expiry).
+     *
+     * @param token - the JWT token
+     * @return the subject email and expiry time
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, forged or expired
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims = getClaims(token);
+        return new VerifiedToken(claims.getSubject(), claims.getExpiration().toInstant());
+    }
+
     /**
      * Extracts user's email from token.
      *
@@ -66,25 +84,15 @@ public class JwtUtil {
      * @return true if valid token & belongs to that user
      */
     public boolean validateToken(String token, String email) {
-        String extractedEmail = extractEmail(token);
-        return (extractedEmail.equals(email) && !isTokenExpired(token));
-    }
-
-    /**
-     * Check if the given token is expired.
-     */
-    private boolean isTokenExpired(String token) {
-        return getClaims(token).getExpiration().before(new Date());
+        // One parse gives both the subject and the expiry.
+        Claims claims = getClaims(token);
+        return (claims.getSubject().equals(email) && !claims.getExpiration().before(new Date()));
     }
 
     /**
      * Returns all claims (payload) from the token.
      */
     private Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 }
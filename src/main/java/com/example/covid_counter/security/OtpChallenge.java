@@ -0,0 +1,14 @@
+package com.example.covid_counter.security;
+
+import java.time.Instant;
+
+/**
+ * A one-time code sent to a user during login.
+ *
+ * @param email            the user's email as stored in the users table
+ * @param code             the 6-digit code
+ * @param expiresAt        after this instant the code is rejected
+ * @param markUserVerified true if the user has never passed OTP, so users.verified must be set on success
+ */
+public record OtpChallenge(String email, String code, Instant expiresAt, boolean markUserVerified) {
+}
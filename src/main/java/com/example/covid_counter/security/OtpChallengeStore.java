@@ -0,0 +1,38 @@
+package com.example.covid_counter.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Where pending login OTPs live between "login" and "verify-otp".
+ *
+ * Pick the implementation with app.otp.store:
+ *  - memory (default): {@link InMemoryOtpChallengeStore}, no database writes; single node only
+ *  - database: {@link UsersOtpChallengeStore}, keeps the code in the users table so any node can verify it
+ */
+public interface OtpChallengeStore {
+
+    /**
+     * Store a new challenge for challenge.email(), replacing any pending one.
+     */
+    void save(OtpChallenge challenge);
+
+    /**
+     * Check a code and, if it is right, remove and return the challenge. Every wrong guess
+     * counts; after too many the challenge is dropped and the user must log in again.
+     *
+     * @throws RuntimeException with a user-facing message if there is no pending challenge,
+     *                          it has expired, the code is wrong or too many attempts were made
+     */
+    OtpChallenge consume(String email, String code);
+
+    /**
+     * Compare codes in constant time, so response timing does not reveal matching digits.
+     */
+    static boolean codesMatch(String expected, String actual) {
+        if (expected == null || actual == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), actual.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.covid_counter.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt on a small, dedicated pool instead of on request threads.
+ *
+ * BCrypt is deliberately slow (tens of ms of pure CPU per call). The pool has a fixed number
+ * of threads (by default half the cores) and a short queue; when the queue is full the call
+ * is refused at once with 429 instead of waiting. A login storm therefore uses at most those
+ * threads' worth of CPU, and the rest of the API keeps its latency.
+ *
+ * Metrics: auth.bcrypt{op=encode|matches} (hashing time on the pool), auth.bcrypt.queued,
+ * auth.bcrypt.rejected.
+ */
+@Component
+public class PasswordHasher implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHasher.class);
+
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public PasswordHasher(PasswordEncoder encoder,
+                          @Value("${app.auth.hash-threads:0}") int threads,
+                          @Value("${app.auth.hash-queue:32}") int queueCapacity,
+                          @Value("${app.auth.hash-timeout-ms:10000}") long timeoutMs,
+                          MeterRegistry meterRegistry) {
+        this.encoder = encoder;
+        this.timeoutMs = timeoutMs;
+        this.encodeTimer = Timer.builder("auth.bcrypt").tag("op", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.bcrypt").tag("op", "matches").register(meterRegistry);
+        this.rejected = Counter.builder("auth.bcrypt.rejected")
+                .description("Hash requests refused because the queue was full")
+                .register(meterRegistry);
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                r -> {
+                    Thread t = new Thread(r, "bcrypt-" + counter.getAndIncrement());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        Gauge.builder("auth.bcrypt.queued", this, PasswordHasher::queued).register(meterRegistry);
+    }
+
+    public String encode(String rawPassword) {
+        return call(() -> encodeTimer.recordCallable(() -> encoder.encode(rawPassword)));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return call(() -> matchesTimer.recordCallable(() -> encoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Hashes waiting for a thread right now.
+     */
+    public int queued() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> T call(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Password hashing queue is full ({} waiting); refusing request", queued());
+            throw new TooManyRequestsException("Server is busy. Try again shortly.", 1);
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new TooManyRequestsException("Server is busy. Try again shortly.", 1);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+}
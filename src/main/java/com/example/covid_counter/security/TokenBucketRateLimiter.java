@@ -0,0 +1,127 @@
+package com.example.covid_counter.security;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-key token buckets (e.g. one per client IP), without locks.
+ *
+ * Each bucket is a single AtomicLong holding its "theoretical arrival time" (the GCRA form of
+ * a token bucket): every allowed request pushes it one interval further; a request is refused
+ * when that would put it more than burst intervals ahead of now. Updating it is one CAS, so
+ * concurrent requests for the same key never block each other.
+ *
+ * At most maxKeys buckets are kept. When the map is full, buckets that have refilled completely
+ * are dropped (forgetting them changes nothing, a new bucket starts full). That sweep runs at
+ * most once per burst period, the time any bucket needs to refill, so a flood of new keys does
+ * not scan the map on every request. A key that finds the map still full is refused until the
+ * next sweep can run: letting it through untracked would let anyone who fills the map (many
+ * addresses, many made-up emails) go unlimited from then on.
+ */
+public final class TokenBucketRateLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int maxKeys;
+    private final LongSupplier nanoClock;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    // Buckets in the map plus slots reserved by inserts in progress; never above maxKeys.
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong nextSweep = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @param perMinute sustained rate; 0 or less disables the limiter
+     * @param burst     requests allowed back to back on a full bucket
+     */
+    public TokenBucketRateLimiter(int perMinute, int burst, int maxKeys, LongSupplier nanoClock) {
+        this.intervalNanos = perMinute > 0 ? TimeUnit.MINUTES.toNanos(1) / perMinute : 0;
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+        this.maxKeys = maxKeys;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Take one token for key.
+     *
+     * @return 0 if allowed, otherwise how many nanoseconds until a token is available
+     */
+    public long tryAcquire(String key) {
+        if (intervalNanos == 0) {
+            return 0;
+        }
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = newBucket(key, now);
+            if (bucket == null) {
+                // Map full: retry once the next sweep is due, and not sooner than one interval.
+                return Math.max(nextSweep.get() - now, intervalNanos);
+            }
+        }
+        while (true) {
+            long tat = bucket.get();
+            long next = Math.max(tat, now) + intervalNanos;
+            long ahead = next - now;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (bucket.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public int trackedKeys() {
+        return buckets.size();
+    }
+
+    // The bucket for a key not seen yet, or null if the map is full.
+    private AtomicLong newBucket(String key, long now) {
+        if (!reserve()) {
+            sweep(now);
+            if (!reserve()) {
+                return null;
+            }
+        }
+        // A new bucket starts full: its arrival time is "now".
+        AtomicLong created = new AtomicLong(now);
+        AtomicLong bucket = buckets.putIfAbsent(key, created);
+        if (bucket != null) {
+            // Another request for the same key got there first.
+            size.decrementAndGet();
+            return bucket;
+        }
+        return created;
+    }
+
+    private boolean reserve() {
+        while (true) {
+            int current = size.get();
+            if (current >= maxKeys) {
+                return false;
+            }
+            if (size.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void sweep(long now) {
+        long due = nextSweep.get();
+        if (now < due || !nextSweep.compareAndSet(due, now + burstNanos)) {
+            return;
+        }
+        Iterator<AtomicLong> it = buckets.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().get() <= now) {
+                it.remove();
+                size.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.covid_counter.security;
+
+import com.example.covid_counter.model.UsersModel;
+import com.example.covid_counter.repo.UsersRepo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Keeps the pending OTP in the users row (otp_code, otp_expires_at, otp_attempts), so any
+ * node can verify a code sent by another. Costs a read and a write per login and per verify.
+ *
+ * consume locks the users row (SELECT ... FOR UPDATE) for the check and the write, so of two
+ * concurrent verifies with the right code only one succeeds, and concurrent wrong guesses
+ * each count towards app.otp.max-attempts instead of overwriting each other's increment.
+ */
+@Component
+@ConditionalOnProperty(name = "app.otp.store", havingValue = "database")
+public class UsersOtpChallengeStore implements OtpChallengeStore {
+
+    private final UsersRepo usersRepo;
+    private final int maxAttempts;
+
+    public UsersOtpChallengeStore(UsersRepo usersRepo, @Value("${app.otp.max-attempts:5}") int maxAttempts) {
+        this.usersRepo = usersRepo;
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    @Override
+    @Transactional
+    public void save(OtpChallenge challenge) {
+        UsersModel user = usersRepo.findByEmail(challenge.email())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        user.setOtpCode(challenge.code());
+        user.setOtpExpiresAt(LocalDateTime.ofInstant(challenge.expiresAt(), ZoneId.systemDefault()));
+        user.setOtpAttempts(0);
+        user.setUpdatedAt(LocalDateTime.now());
+        usersRepo.save(user);
+    }
+
+    @Override
+    @Transactional(noRollbackFor = RuntimeException.class)
+    public OtpChallenge consume(String email, String code) {
+        UsersModel user = usersRepo.findByEmailForUpdate(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (user.getOtpCode() == null || user.getOtpExpiresAt() == null) {
+            throw new RuntimeException("No OTP pending. Please login again.");
+        }
+        if (LocalDateTime.now().isAfter(user.getOtpExpiresAt())) {
+            clear(user);
+            throw new RuntimeException("OTP expired. Please login again.");
+        }
+        int attempt = (user.getOtpAttempts() == null ? 0 : user.getOtpAttempts()) + 1;
+        if (!OtpChallengeStore.codesMatch(user.getOtpCode(), code)) {
+            if (attempt >= maxAttempts) {
+                clear(user);
+                throw new RuntimeException("Too many attempts. Please login again.");
+            }
+            user.setOtpAttempts(attempt);
+            usersRepo.save(user);
+            throw new RuntimeException("Invalid OTP code.");
+        }
+
+        OtpChallenge challenge = new OtpChallenge(user.getEmail(), user.getOtpCode(),
+                user.getOtpExpiresAt().atZone(ZoneId.systemDefault()).toInstant(), false);
+        // The verified flag is set in the same write that clears the code.
+        user.setVerified(true);
+        clear(user);
+        return challenge;
+    }
+
+    private void clear(UsersModel user) {
+        user.setOtpCode(null);
+        user.setOtpExpiresAt(null);
+        user.setOtpAttempts(0);
+        user.setUpdatedAt(LocalDateTime.now());
+        usersRepo.save(user);
+    }
+}
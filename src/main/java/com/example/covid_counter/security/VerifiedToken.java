@@ -0,0 +1,13 @@
+package com.example.covid_counter.security;
+
+import java.time.Instant;
+
+/**
+ * Result of a successful token check: who the token belongs to and until when it is valid.
+ */
+public record VerifiedToken(String email, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.covid_counter.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of tokens whose signature has already been verified.
+ *
+ * Clients send the same bearer token on every request, so after the first request the
+ * filter can skip parsing and the HMAC check entirely. Entries are never served past
+ * the token's own expiry. The key is the exact token string, so any tampered token misses.
+ */
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    private final Map<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    public VerifiedTokenCache(@Value("${app.jwt.verified-cache-size:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * The cached result for token, or null if unknown or expired.
+     */
+    public VerifiedToken get(String token) {
+        VerifiedToken verified = entries.get(token);
+        if (verified == null) {
+            return null;
+        }
+        if (verified.isExpired(Instant.now())) {
+            entries.remove(token, verified);
+            return null;
+        }
+        return verified;
+    }
+
+    public void put(String token, VerifiedToken verified) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+        entries.put(token, verified);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.jwt.cache.size", this, VerifiedTokenCache::size).register(registry);
+    }
+
+    /**
+     * Drop expired entries; if that does not free enough room, drop arbitrary ones down to 90%.
+     */
+    private void evict() {
+        Instant now = Instant.now();
+        entries.values().removeIf(v -> v.isExpired(now));
+        int target = maxEntries - Math.max(1, maxEntries / 10);
+        Iterator<String> it = entries.keySet().iterator();
+        while (entries.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
@@ -1,11 +1,12 @@
 package com.example.covid_counter.service;
 
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.security.SecureRandom;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
-import java.util.Random;
 
 import com.example.covid_counter.model.AuthRequest;
 import com.example.covid_counter.model.AuthResponse;
@@ -14,28 +15,37 @@ import com.example.covid_counter.model.RegisterRequest;
 import com.example.covid_counter.model.UsersModel;
 import com.example.covid_counter.repo.UsersRepo;
 import com.example.covid_counter.security.JwtUtil;
+import com.example.covid_counter.security.OtpChallenge;
+import com.example.covid_counter.security.OtpChallengeStore;
+import com.example.covid_counter.security.PasswordHasher;
 
 /**
  * AuthService:
  *  - Handles register and login logic
  *  - Talks to UsersRepo (DB)
- *  - Uses PasswordEncoder to hash/verify passwords
+ *  - Uses PasswordHasher to hash/verify passwords (BCrypt on its own bounded pool)
  *  - Uses JwtUtil to generate JWT tokens
+ *  - Keeps pending OTPs in an OtpChallengeStore (in memory by default, not in the users table)
  */
 @Service
 public class AuthService {
 
     private final UsersRepo usersRepo;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtUtil jwtUtil;
     private final MailService mailService;
+    private final OtpChallengeStore otpStore;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
 
     // Constructor injection (no @Autowired)
-    public AuthService(UsersRepo usersRepo, PasswordEncoder passwordEncoder, JwtUtil jwtUtil, MailService mailService) {
+    public AuthService(UsersRepo usersRepo, PasswordHasher passwordHasher, JwtUtil jwtUtil, MailService mailService,
+                       OtpChallengeStore otpStore) {
         this.usersRepo = usersRepo;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.jwtUtil = jwtUtil;
         this.mailService = mailService;
+        this.otpStore = otpStore;
     }
 
     /**
@@ -52,7 +62,7 @@ public class AuthService {
         UsersModel user = new UsersModel();
         user.setName(request.getName());
         user.setEmail(request.getEmail());
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+        user.setPasswordHash(passwordHasher.encode(request.getPassword()));
         user.setCreatedAt(LocalDateTime.now());
         user.setUpdatedAt(LocalDateTime.now());
         user.setVerified(false);
@@ -69,29 +79,27 @@ public class AuthService {
      * Login (step 1 of 2FA):
      *  - find user by email
      *  - check password
-     *  - generate OTP, store and "send" it
+     *  - generate OTP, keep it in the challenge store and "send" it
      *  - return an OTP_REQUIRED response (no JWT yet)
      */
     public OtpChallengeResponse loginUser(AuthRequest request) {
         UsersModel user = usersRepo.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        boolean matches = passwordEncoder.matches(request.getPassword(), user.getPasswordHash());
+        boolean matches = passwordHasher.matches(request.getPassword(), user.getPasswordHash());
         if (!matches) {
             throw new RuntimeException("Invalid credentials");
         }
 
         String otp = generateOtp();
-        LocalDateTime expiresAt = LocalDateTime.now().plus(5, ChronoUnit.MINUTES);
+        Instant expiry = Instant.now().plus(5, ChronoUnit.MINUTES);
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(expiry, ZoneId.systemDefault());
 
-        // Persist OTP for later verification.
-        user.setOtpCode(otp);
-        user.setOtpExpiresAt(expiresAt);
-        user.setVerified(false);
-        user.setUpdatedAt(LocalDateTime.now());
-        usersRepo.save(user);
+        // Keep the OTP for verification; the users row is not written.
+        otpStore.save(new OtpChallenge(user.getEmail(), otp, expiry, !Boolean.TRUE.equals(user.getVerified())));
 
-        // Send the OTP via email. (In dev, check logs/console of your mail provider or catch errors.)
+        // Queue the OTP email. A background worker sends it, so login returns without
+        // waiting on SMTP. (Delivery failures are retried and end up in the dead-letter log.)
         sendOtp(user.getEmail(), otp, expiresAt);
 
         return new OtpChallengeResponse(
@@ -104,42 +112,27 @@ public class AuthService {
 
     /**
      * Verify the OTP (step 2 of 2FA):
-     *  - confirm user exists
-     *  - check code matches and is not expired
-     *  - mark verified, clear OTP, issue JWT
+     *  - check code matches, is not expired and not guessed too often (constant-time compare)
+     *  - mark verified the first time only
+     *  - issue JWT
      */
     public AuthResponse verifyOtp(String email, String code) {
-        UsersModel user = usersRepo.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        if (user.getOtpCode() == null || user.getOtpExpiresAt() == null) {
-            throw new RuntimeException("No OTP pending. Please login again.");
-        }
+        OtpChallenge challenge = otpStore.consume(email, code);
 
-        if (LocalDateTime.now().isAfter(user.getOtpExpiresAt())) {
-            throw new RuntimeException("OTP expired. Please login again.");
+        // Only a user's first successful OTP writes to the users table.
+        if (challenge.markUserVerified()) {
+            usersRepo.markVerified(challenge.email());
         }
 
-        if (!user.getOtpCode().equals(code)) {
-            throw new RuntimeException("Invalid OTP code.");
-        }
-
-        // Success: clear OTP data and mark verified.
-        user.setOtpCode(null);
-        user.setOtpExpiresAt(null);
-        user.setVerified(true);
-        user.setUpdatedAt(LocalDateTime.now());
-        usersRepo.save(user);
-
-        String token = jwtUtil.generateToken(user.getEmail());
-        return new AuthResponse(token, user.getEmail());
+        String token = jwtUtil.generateToken(challenge.email());
+        return new AuthResponse(token, challenge.email());
     }
 
     // ---- Helpers ----
 
     private static String generateOtp() {
-        // 6-digit numeric code; not cryptographically strong, but fine for demo.
-        int code = 100000 + new Random().nextInt(900000);
+        // 6-digit numeric code from a cryptographically strong generator.
+        int code = 100000 + RANDOM.nextInt(900000);
         return String.valueOf(code);
     }
 
@@ -0,0 +1,173 @@
+package com.example.covid_counter.service;
+
+import com.example.covid_counter.event.RowChangedEvent;
+import com.example.covid_counter.model.BulkUpdateReport;
+import jakarta.persistence.Id;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+
+import java.beans.PropertyDescriptor;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Shared logic behind the bulk PATCH endpoints of the four data tables.
+ *
+ * All rows are loaded with one findAllById (a single SELECT ... IN), patched in memory and
+ * flushed at commit. Only non-null fields of each payload row are copied, and the entities
+ * use @DynamicUpdate, so the UPDATE statements contain just the changed columns. Hibernate
+ * groups them into JDBC batches (hibernate.jdbc.batch_size).
+ *
+ * Must be called inside the caller's @Transactional method.
+ */
+@Component
+public class BulkUpdater {
+
+    // Writable properties per entity class, minus the @Id (a primary key cannot be patched).
+    private static final ClassValue<PropertyDescriptor[]> PATCHABLE = new ClassValue<>() {
+        @Override
+        protected PropertyDescriptor[] computeValue(Class<?> type) {
+            List<PropertyDescriptor> result = new ArrayList<>();
+            for (PropertyDescriptor pd : BeanUtils.getPropertyDescriptors(type)) {
+                if (pd.getReadMethod() != null && pd.getWriteMethod() != null && !isId(type, pd.getName())) {
+                    result.add(pd);
+                }
+            }
+            return result.toArray(new PropertyDescriptor[0]);
+        }
+    };
+
+    private final ApplicationEventPublisher events;
+    private final ObjectMapper objectMapper;
+    private final int maxRows;
+
+    public BulkUpdater(ApplicationEventPublisher events, ObjectMapper objectMapper,
+                       @Value("${app.bulk.max-rows:10000}") int maxRows) {
+        this.events = events;
+        this.objectMapper = objectMapper;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Apply the patches to existing rows; ids that do not exist are reported, not created.
+     *
+     * @param table   one of {@link com.example.covid_counter.event.Tables}, used for the events
+     * @param repo    repository of the entity
+     * @param patches payload rows; each must carry its id, other null fields are left alone
+     * @param idOf    reads the id of an entity
+     * @throws IllegalArgumentException if the request is too large or a row has no id
+     */
+    public <T, ID> BulkUpdateReport apply(String table, JpaRepository<T, ID> repo, List<T> patches,
+                                          Function<T, ID> idOf) {
+        long start = System.nanoTime();
+        if (patches.size() > maxRows) {
+            throw new IllegalArgumentException("At most " + maxRows + " rows per request");
+        }
+
+        List<ID> ids = new ArrayList<>(patches.size());
+        for (T patch : patches) {
+            ID id = idOf.apply(patch);
+            if (id == null) {
+                throw new IllegalArgumentException("Every row needs its id");
+            }
+            ids.add(id);
+        }
+
+        // One SELECT for the whole request.
+        Map<Object, T> loaded = new HashMap<>();
+        for (T entity : repo.findAllById(ids)) {
+            loaded.put(matchKey(idOf.apply(entity)), entity);
+        }
+
+        // First-seen state of every touched row, for change detection and the events.
+        // (Keyed by id: the entities' own hashCode changes as they are patched.)
+        Map<Object, T> before = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (T patch : patches) {
+            Object key = matchKey(idOf.apply(patch));
+            T entity = loaded.get(key);
+            if (entity == null) {
+                missing.add(String.valueOf(idOf.apply(patch)));
+                continue;
+            }
+            before.computeIfAbsent(key, k -> RowChangedEvent.copyOf(entity));
+            copyNonNull(patch, entity);
+        }
+
+        int updated = 0;
+        for (Map.Entry<Object, T> e : before.entrySet()) {
+            T entity = loaded.get(e.getKey());
+            if (!e.getValue().equals(entity)) {
+                updated++;
+                events.publishEvent(new RowChangedEvent(table, idOf.apply(entity), e.getValue(),
+                        RowChangedEvent.copyOf(entity)));
+            }
+        }
+        // The managed entities are flushed (in batches) when the caller's transaction commits.
+        return new BulkUpdateReport(table, patches.size(), updated, before.size() - updated, missing,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Read a newline-delimited JSON body (one object per line) into rows.
+     *
+     * @throws IllegalArgumentException if a line is not valid JSON for the entity
+     */
+    public <T> List<T> readNdjson(InputStream body, Class<T> type) {
+        List<T> rows = new ArrayList<>();
+        try (MappingIterator<T> it = objectMapper.readerFor(type).readValues(body)) {
+            while (it.hasNextValue()) {
+                rows.add(it.nextValue());
+                if (rows.size() > maxRows) {
+                    throw new IllegalArgumentException("At most " + maxRows + " rows per request");
+                }
+            }
+        } catch (JacksonException e) {
+            throw new IllegalArgumentException("Malformed NDJSON: " + e.getOriginalMessage());
+        }
+        return rows;
+    }
+
+    private static void copyNonNull(Object source, Object target) {
+        try {
+            for (PropertyDescriptor pd : PATCHABLE.get(source.getClass())) {
+                Object value = pd.getReadMethod().invoke(source);
+                if (value != null) {
+                    pd.getWriteMethod().invoke(target, value);
+                }
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot copy " + source.getClass().getSimpleName(), e);
+        }
+    }
+
+    // String ids (country names) match case-insensitively, like the MySQL collation does.
+    private static Object matchKey(Object id) {
+        return id instanceof String s ? s.toLowerCase(Locale.ROOT) : id;
+    }
+
+    private static boolean isId(Class<?> type, String property) {
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            try {
+                Field field = c.getDeclaredField(property);
+                return field.isAnnotationPresent(Id.class);
+            } catch (NoSuchFieldException ignored) {
+                // look in the superclass
+            }
+        }
+        return false;
+    }
+}
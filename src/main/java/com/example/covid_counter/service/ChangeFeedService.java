@@ -0,0 +1,201 @@
+package com.example.covid_counter.service;
+
+import com.example.covid_counter.event.RowChangedEvent;
+import com.example.covid_counter.event.TableReloadedEvent;
+import com.example.covid_counter.model.ChangeEvent;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes committed row changes to Server-Sent Events subscribers.
+ *
+ * Publishing never blocks the writer: each subscriber has a bounded queue that the commit
+ * only offers to, and its own virtual thread that drains the queue onto the connection.
+ * A subscriber too slow to keep up loses its backlog and gets one "resync" event instead,
+ * telling the client to refetch the tables it shows.
+ *
+ * The last few hundred events are kept so a client reconnecting with Last-Event-ID
+ * receives what it missed.
+ */
+@Service
+public class ChangeFeedService implements DisposableBean {
+
+    private static final long HEARTBEAT_SECONDS = 15;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ArrayDeque<ChangeEvent> recent = new ArrayDeque<>();
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final int replaySize;
+
+    public ChangeFeedService(@Value("${app.changes.buffer-size:256}") int bufferSize,
+                             @Value("${app.changes.max-subscribers:1000}") int maxSubscribers,
+                             @Value("${app.changes.replay-size:512}") int replaySize) {
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.replaySize = replaySize;
+    }
+
+    /**
+     * Open a feed for the given tables (null or empty = all tables).
+     *
+     * @param lastEventId id of the last event the client saw, from the Last-Event-ID header
+     * @throws IllegalStateException if too many clients are connected
+     */
+    public SseEmitter subscribe(Set<String> tables, Long lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many change feed subscribers");
+        }
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(emitter, tables == null || tables.isEmpty() ? null : tables);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+
+        // Under the publish lock: the replay and live events neither overlap nor leave a gap.
+        synchronized (recent) {
+            subscribers.add(subscriber);
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+        }
+        subscriber.thread = Thread.ofVirtual().name("change-feed").start(subscriber::drain);
+        return emitter;
+    }
+
+    // Overridden by tests to record what is sent.
+    SseEmitter newEmitter() {
+        // No server-side timeout: the heartbeat detects dead connections.
+        return new SseEmitter(0L);
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRowChanged(RowChangedEvent event) {
+        publish(event.table(), "update", event.key(), event.after());
+    }
+
+    @EventListener
+    public void onTableReloaded(TableReloadedEvent event) {
+        publish(event.table(), "reload", null, null);
+    }
+
+    @Override
+    public void destroy() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+            subscriber.close();
+        }
+    }
+
+    // One lock for numbering, history and fan-out keeps every queue in id order. Offers
+    // never block, so holding it is cheap.
+    private void publish(String table, String type, Object key, Object row) {
+        synchronized (recent) {
+            ChangeEvent change = new ChangeEvent(sequence.incrementAndGet(), table, type, key, row);
+            recent.addLast(change);
+            if (recent.size() > replaySize) {
+                recent.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(change);
+            }
+        }
+    }
+
+    private void replay(Subscriber subscriber, long lastEventId) {
+        ChangeEvent oldest = recent.peekFirst();
+        boolean gone = oldest != null && oldest.getId() > lastEventId + 1;
+        // An id from the future means the server restarted and the numbering began again.
+        if (gone || lastEventId > sequence.get()) {
+            subscriber.overflowed = true;
+            return;
+        }
+        for (ChangeEvent change : recent) {
+            if (change.getId() > lastEventId) {
+                subscriber.offer(change);
+            }
+        }
+    }
+
+    private final class Subscriber {
+
+        final SseEmitter emitter;
+        final Set<String> tables;
+        final BlockingQueue<ChangeEvent> queue = new ArrayBlockingQueue<>(bufferSize);
+        volatile boolean overflowed;
+        volatile boolean closed;
+        volatile Thread thread;
+
+        Subscriber(SseEmitter emitter, Set<String> tables) {
+            this.emitter = emitter;
+            this.tables = tables;
+        }
+
+        void offer(ChangeEvent change) {
+            if (closed || (tables != null && !tables.contains(change.getTable()))) {
+                return;
+            }
+            if (!queue.offer(change)) {
+                overflowed = true;
+            }
+        }
+
+        void drain() {
+            try {
+                while (!closed) {
+                    if (overflowed) {
+                        overflowed = false;
+                        queue.clear();
+                        emitter.send(SseEmitter.event().name("resync").data("refetch"));
+                        continue;
+                    }
+                    ChangeEvent change = queue.poll(HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+                    if (change == null) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(change.getId()))
+                                .name("change")
+                                .data(change, MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away (or the emitter already completed).
+                emitter.completeWithError(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+            Thread t = thread;
+            if (t != null && t != Thread.currentThread()) {
+                t.interrupt();
+            }
+        }
+    }
+}
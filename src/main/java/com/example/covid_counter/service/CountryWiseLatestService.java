@@ -1,48 +1,76 @@
 package com.example.covid_counter.service;
 
+import com.example.covid_counter.cache.CountryWiseLatestCache;
+import com.example.covid_counter.event.RowChangedEvent;
+import com.example.covid_counter.event.Tables;
+import com.example.covid_counter.model.BulkUpdateReport;
 import com.example.covid_counter.model.CountryWiseLatest;
 import com.example.covid_counter.repo.CountryWiseLatestRepo;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+/**
+ * Reads are answered from {@link CountryWiseLatestCache}; writes go to the DB and
+ * publish a {@link RowChangedEvent} so the cache swaps in the new row after commit.
+ */
 @Service
 public class CountryWiseLatestService {
 
     private final CountryWiseLatestRepo repo;
+    private final CountryWiseLatestCache cache;
+    private final ApplicationEventPublisher events;
+    private final BulkUpdater bulk;
 
-    public CountryWiseLatestService(CountryWiseLatestRepo repo) {
+    public CountryWiseLatestService(CountryWiseLatestRepo repo, CountryWiseLatestCache cache,
+                                    ApplicationEventPublisher events, BulkUpdater bulk) {
         this.repo = repo;
+        this.cache = cache;
+        this.events = events;
+        this.bulk = bulk;
     }
 
     public List<CountryWiseLatest> getAll() {
-        return repo.findAll();
+        return cache.snapshot().all();
     }
 
     public CountryWiseLatest getByCountry(String country) {
-        return repo.findById(country)
-                .orElseThrow(() -> new EntityNotFoundException("Record not found for country: " + country));
+        CountryWiseLatest row = cache.snapshot().byCountry(country);
+        if (row == null) {
+            throw new EntityNotFoundException("Record not found for country: " + country);
+        }
+        return row;
     }
 
     public List<CountryWiseLatest> getByWhoRegion(String whoRegion) {
-        return repo.findByWhoRegion(whoRegion);
+        return cache.snapshot().byWhoRegion(whoRegion);
     }
 
     public List<CountryWiseLatest> getByActiveLessThan(Long activeCount) {
-        return repo.findByActiveLessThan(activeCount);
+        return cache.snapshot().activeLessThan(activeCount);
     }
 
     public List<CountryWiseLatest> getByActiveGreaterThan(Long activeCount) {
-        return repo.findByActiveGreaterThan(activeCount);
+        return cache.snapshot().activeGreaterThan(activeCount);
+    }
+
+    public List<CountryWiseLatest> getByActiveBetween(Long minActive, Long maxActive) {
+        return cache.snapshot().activeBetween(minActive, maxActive);
+    }
+
+    public List<CountryWiseLatest> getTopActive(int limit) {
+        return cache.snapshot().topActive(limit);
     }
 
 
 
     @Transactional
     public CountryWiseLatest updateByCountry(String country, CountryWiseLatest updated) {
-        CountryWiseLatest existing = getByCountry(country);
+        CountryWiseLatest existing = findForUpdate(country);
+        CountryWiseLatest before = RowChangedEvent.copyOf(existing);
 
         // keep country/region identifier unchanged
         existing.setCountryRegion(country);
@@ -61,13 +89,21 @@ public class CountryWiseLatestService {
         existing.setOneWeekPercentIncrease(updated.getOneWeekPercentIncrease());
         existing.setWhoRegion(updated.getWhoRegion());
 
-        return repo.save(existing);
+        return saveAndPublish(before, existing);
     }
 
+    /**
+     * Patch many countries in one transaction; only non-null fields of each row are applied.
+     */
+    @Transactional
+    public BulkUpdateReport bulkUpdate(List<CountryWiseLatest> rows) {
+        return bulk.apply(Tables.COUNTRY_WISE_LATEST, repo, rows, CountryWiseLatest::getCountryRegion);
+    }
 
     @Transactional
     public CountryWiseLatest updateRecovered(String country){
-        CountryWiseLatest existing = getByCountry(country);
+        CountryWiseLatest existing = findForUpdate(country);
+        CountryWiseLatest before = RowChangedEvent.copyOf(existing);
 
         long confirmed  = existing.getConfirmed() == null ? 0 : existing.getConfirmed();
         long deaths     = existing.getDeaths() == null ? 0 : existing.getDeaths();
@@ -75,6 +111,19 @@ public class CountryWiseLatestService {
         long recovered  = confirmed - deaths - active;
 
         existing.setRecovered(Math.max(0, recovered));
-        return repo.save(existing);
+        return saveAndPublish(before, existing);
+    }
+
+    // Writes start from the managed entity, never from the shared cached copy.
+    private CountryWiseLatest findForUpdate(String country) {
+        return repo.findById(country)
+                .orElseThrow(() -> new EntityNotFoundException("Record not found for country: " + country));
+    }
+
+    private CountryWiseLatest saveAndPublish(CountryWiseLatest before, CountryWiseLatest existing) {
+        CountryWiseLatest saved = repo.save(existing);
+        events.publishEvent(new RowChangedEvent(Tables.COUNTRY_WISE_LATEST, saved.getCountryRegion(),
+                before, RowChangedEvent.copyOf(saved)));
+        return saved;
     }
 }
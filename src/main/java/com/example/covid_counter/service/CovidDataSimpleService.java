@@ -1,42 +1,105 @@
 package com.example.covid_counter.service;
 
+import com.example.covid_counter.cache.CovidDataSimpleCache;
+import com.example.covid_counter.cache.GeoGridIndex;
+import com.example.covid_counter.event.RowChangedEvent;
+import com.example.covid_counter.event.Tables;
+import com.example.covid_counter.model.BulkUpdateReport;
 import com.example.covid_counter.model.CovidDataSimple;
 import com.example.covid_counter.repo.CovidDataSimpleRepo;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 @Service
 public class CovidDataSimpleService {
 
+    // Typeahead ranking after exact matches: most cases first.
+    private static final Comparator<CovidDataSimple> BY_TOTAL_CASES_DESC = Comparator.comparing(
+            CovidDataSimple::getTotalCases, Comparator.nullsLast(Comparator.reverseOrder()));
+
     private final CovidDataSimpleRepo repo;
+    private final CovidDataSimpleCache cache;
+    private final ApplicationEventPublisher events;
+    private final BulkUpdater bulk;
 
-    public CovidDataSimpleService(CovidDataSimpleRepo repo) {
+    public CovidDataSimpleService(CovidDataSimpleRepo repo, CovidDataSimpleCache cache, ApplicationEventPublisher events,
+                                  BulkUpdater bulk) {
         this.repo = repo;
+        this.cache = cache;
+        this.events = events;
+        this.bulk = bulk;
     }
 
     /**
      * Filter by region or continent (both mapped to the Region column).
+     * Prefix filters are served from the in-memory prefix indexes.
      */
     public List<CovidDataSimple> getAll(String countryPrefix, String regionPrefix, String continentPrefix) {
+        CovidDataSimpleCache.Snapshot snapshot = cache.snapshot();
         if (countryPrefix != null && !countryPrefix.isBlank()) {
-            return repo.findByCountryStartingWithIgnoreCase(countryPrefix);
+            return snapshot.byCountry().startingWith(countryPrefix);
         }
 
         String filter = firstNonBlank(regionPrefix, continentPrefix);
         if (filter != null) {
-            return repo.findByRegionStartingWithIgnoreCase(filter);
+            return snapshot.byRegion().startingWith(filter);
         }
-        return repo.findAll();
+        return snapshot.all();
+    }
+
+    /**
+     * Rows within radiusKm of a point, nearest first, at most limit of them.
+     * Only the grid cells around the point are looked at.
+     *
+     * @throws IllegalArgumentException for invalid coordinates or radius
+     */
+    public List<CovidDataSimple> near(double lat, double lon, double radiusKm, int limit) {
+        CovidDataSimpleCache.Snapshot snapshot = cache.snapshot();
+        return rowsAt(snapshot, snapshot.geo().near(lat, lon, radiusKm, limit));
+    }
+
+    /**
+     * Rows inside a lat/long box, by record_id. west &gt; east selects a box across the antimeridian.
+     *
+     * @throws IllegalArgumentException for invalid coordinates
+     */
+    public List<CovidDataSimple> within(double south, double west, double north, double east) {
+        CovidDataSimpleCache.Snapshot snapshot = cache.snapshot();
+        return rowsAt(snapshot, snapshot.geo().withinBox(south, west, north, east));
+    }
+
+    private static List<CovidDataSimple> rowsAt(CovidDataSimpleCache.Snapshot snapshot, int[] ordinals) {
+        List<CovidDataSimple> rows = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            rows.add(snapshot.all().get(ordinal));
+        }
+        return rows;
+    }
+
+    /**
+     * Search-as-you-type on country: exact match first, then by total cases, at most limit rows.
+     */
+    public List<CovidDataSimple> search(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        return cache.snapshot().byCountry().search(prefix.trim(), limit, BY_TOTAL_CASES_DESC);
     }
 
     /**
      * Update a row by record_id.
      */
+    @Transactional
     public CovidDataSimple update(Long id, CovidDataSimple payload) {
         CovidDataSimple existing = repo.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Record not found: " + id));
+        CovidDataSimple before = RowChangedEvent.copyOf(existing);
 
         existing.setCountry(payload.getCountry());
         existing.setLatitude(payload.getLatitude());
@@ -49,7 +112,17 @@ public class CovidDataSimpleService {
         existing.setCasesPerMillion(payload.getCasesPerMillion());
         existing.setDeathsPerMillion(payload.getDeathsPerMillion());
 
-        return repo.save(existing);
+        CovidDataSimple saved = repo.save(existing);
+        events.publishEvent(new RowChangedEvent(Tables.COVID_DATA, id, before, RowChangedEvent.copyOf(saved)));
+        return saved;
+    }
+
+    /**
+     * Patch many records in one transaction; only non-null fields of each row are applied.
+     */
+    @Transactional
+    public BulkUpdateReport bulkUpdate(List<CovidDataSimple> rows) {
+        return bulk.apply(Tables.COVID_DATA, repo, rows, CovidDataSimple::getRecordId);
     }
 
     private static String firstNonBlank(String a, String b) {
@@ -1,38 +1,84 @@
 package com.example.covid_counter.service;
 
+import com.example.covid_counter.analytics.DailyMetric;
+import com.example.covid_counter.analytics.DailySeriesCache;
+import com.example.covid_counter.event.RowChangedEvent;
+import com.example.covid_counter.event.Tables;
+import com.example.covid_counter.model.BulkUpdateReport;
+import com.example.covid_counter.model.DailyTrend;
 import com.example.covid_counter.model.DayWise;
 import com.example.covid_counter.repo.DayWiseRepo;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 @Service
 public class DayWiseService {
 
     private final DayWiseRepo repo;
+    private final ApplicationEventPublisher events;
+    private final BulkUpdater bulk;
+    private final DailySeriesCache series;
 
-    public DayWiseService(DayWiseRepo repo) {
+    public DayWiseService(DayWiseRepo repo, ApplicationEventPublisher events, BulkUpdater bulk,
+                          DailySeriesCache series) {
         this.repo = repo;
+        this.events = events;
+        this.bulk = bulk;
+        this.series = series;
     }
 
     /**
-     * Fetch all day-wise rows, optionally filtering by date prefix (e.g., "2020-03").
+     * Fetch day-wise rows in date order, optionally limited to a date prefix ("2020", "2020-03"
+     * or "2020-03-05") and/or an inclusive from/to range. Served from the in-memory day index.
+     *
+     * @throws IllegalArgumentException if the prefix is not a year, month or date
      */
-    public List<DayWise> getAll(String datePrefix) {
-        boolean hasDate = datePrefix != null && !datePrefix.isBlank();
-        if (hasDate) {
-            return repo.findByDateStartingWith(datePrefix);
+    public List<DayWise> getAll(String datePrefix, LocalDate from, LocalDate to) {
+        if (datePrefix != null && !datePrefix.isBlank()) {
+            LocalDate[] range = prefixRange(datePrefix.trim());
+            from = from == null || range[0].isAfter(from) ? range[0] : from;
+            to = to == null || range[1].isBefore(to) ? range[1] : to;
         }
-        return repo.findAll();
+        return series.snapshot().rows(from, to);
+    }
+
+    /**
+     * One day, looked up by array offset.
+     */
+    public DayWise getByDate(LocalDate date) {
+        DayWise row = series.snapshot().row(date);
+        if (row == null) {
+            throw new EntityNotFoundException("Record not found for date: " + date);
+        }
+        return row;
+    }
+
+    /**
+     * Rolling average, growth, doubling time and peaks of one metric over all days.
+     * Cached per (metric, window) until the table changes.
+     *
+     * @throws IllegalArgumentException if window is out of range
+     */
+    public DailyTrend trend(DailyMetric metric, int window) {
+        return series.snapshot().trend(metric, window);
     }
 
     /**
      * Update a single day row by date.
      */
-    public DayWise updateByDate(String date, DayWise updated) {
+    @Transactional
+    public DayWise updateByDate(LocalDate date, DayWise updated) {
         DayWise existing = repo.findById(date)
                 .orElseThrow(() -> new EntityNotFoundException("Record not found for date: " + date));
+        DayWise before = RowChangedEvent.copyOf(existing);
 
         existing.setDate(date);
         existing.setConfirmed(updated.getConfirmed());
@@ -47,6 +93,29 @@ public class DayWiseService {
         existing.setDeathsPer100Recovered(updated.getDeathsPer100Recovered());
         existing.setNumberOfCountries(updated.getNumberOfCountries());
 
-        return repo.save(existing);
+        DayWise saved = repo.save(existing);
+        events.publishEvent(new RowChangedEvent(Tables.DAY_WISE, date, before, RowChangedEvent.copyOf(saved)));
+        return saved;
+    }
+
+    /**
+     * Patch many days in one transaction; only non-null fields of each row are applied.
+     */
+    @Transactional
+    public BulkUpdateReport bulkUpdate(List<DayWise> rows) {
+        return bulk.apply(Tables.DAY_WISE, repo, rows, DayWise::getDate);
+    }
+
+    // First and last day covered by "yyyy", "yyyy-MM" or "yyyy-MM-dd".
+    private static LocalDate[] prefixRange(String prefix) {
+        try {
+            return switch (prefix.length()) {
+                case 4 -> new LocalDate[] {Year.parse(prefix).atDay(1), Year.parse(prefix).atMonth(12).atEndOfMonth()};
+                case 7 -> new LocalDate[] {YearMonth.parse(prefix).atDay(1), YearMonth.parse(prefix).atEndOfMonth()};
+                default -> new LocalDate[] {LocalDate.parse(prefix), LocalDate.parse(prefix)};
+            };
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("date must look like 2020, 2020-03 or 2020-03-05, was " + prefix);
+        }
     }
 }
@@ -0,0 +1,295 @@
+package com.example.covid_counter.service;
+
+import com.example.covid_counter.event.Tables;
+import com.example.covid_counter.model.CountryWiseLatest;
+import com.example.covid_counter.model.CovidDataSimple;
+import com.example.covid_counter.model.DayWise;
+import com.example.covid_counter.model.FullGrouped;
+import com.example.covid_counter.model.WorldometerData;
+import com.example.covid_counter.repo.CountryWiseLatestRepo;
+import com.example.covid_counter.repo.CovidDataSimpleRepo;
+import com.example.covid_counter.repo.DayWiseRepo;
+import com.example.covid_counter.repo.FullGroupedRepo;
+import com.example.covid_counter.repo.WorldometerDataRepo;
+import com.example.covid_counter.repo.StreamingHints;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.BeanUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+
+import javax.sql.DataSource;
+import java.beans.PropertyDescriptor;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Streams whole tables out as CSV or NDJSON.
+ *
+ * Rows are read with a MySQL streaming cursor and written to the response as they arrive;
+ * each entity is detached from the persistence context right after it is written, so
+ * memory use stays flat however large the table is.
+ */
+@Service
+public class ExportService {
+
+    public enum Format {
+        CSV("text/csv; charset=UTF-8"),
+        NDJSON("application/x-ndjson");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        /**
+         * @throws IllegalArgumentException for anything but "csv" or "ndjson"
+         */
+        public static Format fromParam(String value) {
+            for (Format f : values()) {
+                if (f.name().equalsIgnoreCase(value)) {
+                    return f;
+                }
+            }
+            throw new IllegalArgumentException("Unknown format: " + value + " (use csv or ndjson)");
+        }
+    }
+
+    private final Map<String, Source> sources = new LinkedHashMap<>();
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate streamingJdbc;
+    private final TransactionTemplate readOnlyTx;
+
+    public ExportService(CountryWiseLatestRepo countries, WorldometerDataRepo worldometer, DayWiseRepo dayWise,
+                         CovidDataSimpleRepo covidData, FullGroupedRepo fullGrouped,
+                         EntityManager entityManager, ObjectMapper objectMapper, DataSource dataSource,
+                         PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.streamingJdbc = StreamingHints.streamingJdbcTemplate(dataSource);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+
+        sources.put(Tables.COUNTRY_WISE_LATEST, entities(CountryWiseLatest.class, countries::streamAll));
+        sources.put(Tables.WORLDOMETER, entities(WorldometerData.class, worldometer::streamAll));
+        sources.put(Tables.DAY_WISE, entities(DayWise.class, dayWise::streamAll));
+        sources.put(Tables.COVID_DATA, entities(CovidDataSimple.class, covidData::streamAll));
+        sources.put(Tables.FULL_GROUPED, entities(FullGrouped.class, fullGrouped::streamAll));
+        // No entity for this one (see Dataset.CLEAN_COMPLETE); stream it with plain JDBC.
+        sources.put(Tables.CLEAN_COMPLETE, this::writeCleanComplete);
+    }
+
+    public Set<String> tables() {
+        return sources.keySet();
+    }
+
+    /**
+     * Write the whole table to out, inside one read-only transaction.
+     *
+     * @throws IllegalArgumentException if the table cannot be exported
+     */
+    public void export(String table, Format format, OutputStream out) {
+        Source source = sources.get(table);
+        if (source == null) {
+            throw new IllegalArgumentException("Unknown table: " + table + " (use one of " + sources.keySet() + ")");
+        }
+        readOnlyTx.executeWithoutResult(status -> {
+            try (RowWriter writer = format == Format.CSV ? new CsvWriter(out) : new NdjsonWriter(out)) {
+                source.write(writer);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Export of " + table + " failed", e);
+            }
+        });
+    }
+
+    private <T> Source entities(Class<T> type, Supplier<Stream<T>> stream) {
+        List<Method> getters = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        // Declared field order, which is the column order of the table.
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            PropertyDescriptor pd = BeanUtils.getPropertyDescriptor(type, field.getName());
+            if (pd != null && pd.getReadMethod() != null) {
+                getters.add(pd.getReadMethod());
+                names.add(field.getName());
+            }
+        }
+        String[] header = names.toArray(new String[0]);
+
+        return writer -> {
+            writer.header(header);
+            Object[] values = new Object[getters.size()];
+            try (Stream<T> rows = stream.get()) {
+                for (T row : (Iterable<T>) rows::iterator) {
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = getters.get(i).invoke(row);
+                    }
+                    writer.row(values);
+                    // Written: drop it so the persistence context does not grow with the table.
+                    entityManager.detach(row);
+                }
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot read " + type.getSimpleName(), e);
+            }
+        };
+    }
+
+    private void writeCleanComplete(RowWriter writer) {
+        streamingJdbc.query("SELECT * FROM `" + Tables.CLEAN_COMPLETE + "`", new RowCallbackHandler() {
+            private Object[] values;
+
+            @Override
+            public void processRow(ResultSet rs) throws SQLException {
+                if (values == null) {
+                    ResultSetMetaData meta = rs.getMetaData();
+                    String[] header = new String[meta.getColumnCount()];
+                    for (int i = 0; i < header.length; i++) {
+                        header[i] = meta.getColumnLabel(i + 1);
+                    }
+                    writer.header(header);
+                    values = new Object[header.length];
+                }
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = rs.getObject(i + 1);
+                }
+                writer.row(values);
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface Source {
+        void write(RowWriter writer);
+    }
+
+    private interface RowWriter extends AutoCloseable {
+        void header(String[] names);
+
+        void row(Object[] values);
+
+        @Override
+        void close() throws IOException;
+    }
+
+    /**
+     * RFC 4180 CSV: fields with commas, quotes or line breaks are quoted.
+     */
+    private static final class CsvWriter implements RowWriter {
+
+        private final Writer out;
+
+        CsvWriter(OutputStream out) {
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        }
+
+        @Override
+        public void header(String[] names) {
+            row(names);
+        }
+
+        @Override
+        public void row(Object[] values) {
+            try {
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        out.write(',');
+                    }
+                    if (values[i] != null) {
+                        writeField(values[i].toString());
+                    }
+                }
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeField(String s) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < s.length() && !quote; i++) {
+                char c = s.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                out.write(s);
+                return;
+            }
+            out.write('"');
+            out.write(s.replace("\"", "\"\""));
+            out.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+
+    /**
+     * One JSON object per line, keyed by the header names.
+     */
+    private final class NdjsonWriter implements RowWriter {
+
+        private final JsonGenerator gen;
+        private String[] names;
+
+        NdjsonWriter(OutputStream out) {
+            this.gen = objectMapper.writer().withRootValueSeparator("\n").createGenerator(out);
+        }
+
+        @Override
+        public void header(String[] names) {
+            this.names = names;
+        }
+
+        @Override
+        public void row(Object[] values) {
+            gen.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                gen.writePOJOProperty(names[i], values[i]);
+            }
+            gen.writeEndObject();
+        }
+
+        @Override
+        public void close() {
+            gen.writeRaw('\n');
+            gen.close();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.covid_counter.service;
+
+import com.example.covid_counter.model.KeysetPage;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keyset pagination with field projection for any entity with a single-column id.
+ *
+ * Pages are "WHERE id &gt; :after ORDER BY id LIMIT n", which stays an index range scan no
+ * matter how deep the client pages (unlike OFFSET). Only the requested attributes are put in
+ * the SELECT list, so unrequested columns are neither read from MySQL nor serialised.
+ */
+@Service
+public class KeysetPageService {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private final EntityManager entityManager;
+
+    public KeysetPageService(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * @param after  last id of the previous page (as sent by the client), or null for the first page
+     * @param limit  page size, capped at {@link #MAX_LIMIT}
+     * @param fields comma separated attribute names, or null/blank for all
+     * @throws IllegalArgumentException for unknown fields or an unparsable cursor
+     */
+    @Transactional(readOnly = true)
+    public <T> KeysetPage fetch(Class<T> entityClass, String after, Integer limit, String fields) {
+        EntityType<T> entity = entityManager.getMetamodel().entity(entityClass);
+        SingularAttribute<? super T, ?> id = entity.getId(entity.getIdType().getJavaType());
+        Set<String> selected = selectedAttributes(entity, id.getName(), fields);
+        int pageSize = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityClass);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String name : selected) {
+            selections.add(root.get(name).alias(name));
+        }
+        query.select(cb.tuple(selections.toArray(Selection[]::new)));
+
+        Path<Comparable<Object>> idPath = root.get(id.getName());
+        if (after != null && !after.isBlank()) {
+            query.where(cb.greaterThan(idPath, parseCursor(after, id.getJavaType())));
+        }
+        query.orderBy(cb.asc(idPath));
+
+        // Ask for one extra row to learn whether another page exists.
+        List<Tuple> rows = entityManager.createQuery(query).setMaxResults(pageSize + 1).getResultList();
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        List<Map<String, Object>> items = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            for (String name : selected) {
+                item.put(name, row.get(name));
+            }
+            items.add(item);
+        }
+        Object nextAfter = hasMore ? items.get(items.size() - 1).get(id.getName()) : null;
+        return new KeysetPage(items, nextAfter, hasMore);
+    }
+
+    private static <T> Set<String> selectedAttributes(EntityType<T> entity, String idName, String fields) {
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add(idName);
+        if (fields == null || fields.isBlank()) {
+            // Declaration order isn't available from the metamodel; keep it stable by name.
+            entity.getSingularAttributes().stream()
+                    .map(SingularAttribute::getName)
+                    .sorted()
+                    .forEach(selected::add);
+            return selected;
+        }
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            boolean known = entity.getSingularAttributes().stream().anyMatch(a -> a.getName().equals(name));
+            if (!known) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            selected.add(name);
+        }
+        return selected;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> parseCursor(String after, Class<?> idType) {
+        try {
+            // The shared converter has no ISO date support, so date keys are parsed here.
+            if (idType == LocalDate.class) {
+                return (Comparable<Object>) (Comparable<?>) LocalDate.parse(after);
+            }
+            return (Comparable<Object>) DefaultConversionService.getSharedInstance().convert(after, idType);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + after);
+        }
+    }
+}
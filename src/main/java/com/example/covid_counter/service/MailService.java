@@ -1,33 +1,46 @@
 package com.example.covid_counter.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import com.example.covid_counter.mail.MailQueue;
+
 import java.time.LocalDateTime;
 
 /**
  * Small helper to send OTP emails.
- * Uses Spring's JavaMailSender and values from application.properties.
+ * Builds the message and hands it to MailQueue, which sends it in the background
+ * (so callers never wait on the SMTP server).
  */
 @Service
 public class MailService {
 
-    private final JavaMailSender mailSender;
+    private final MailQueue mailQueue;
+    // mail.otp.send: time to build and queue an OTP mail (SMTP time is in mail.queue.send).
+    private final Timer sendOtpTimer;
 
     @Value("${app.mail.from}")
     private String fromAddress;
 
-    public MailService(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    public MailService(MailQueue mailQueue, MeterRegistry meterRegistry) {
+        this.mailQueue = mailQueue;
+        this.sendOtpTimer = Timer.builder("mail.otp.send").register(meterRegistry);
     }
 
     /**
-     * Send a plain-text OTP email.
+     * Queue a plain-text OTP email.
      * For real use, adjust subject/body to your needs and HTML if desired.
+     *
+     * @throws RuntimeException if the mail queue is full or shutting down
      */
     public void sendOtp(String toEmail, String otpCode, LocalDateTime expiresAt) {
+        sendOtpTimer.record(() -> queueOtp(toEmail, otpCode, expiresAt));
+    }
+
+    private void queueOtp(String toEmail, String otpCode, LocalDateTime expiresAt) {
         SimpleMailMessage message = new SimpleMailMessage();
         message.setFrom(fromAddress);
         message.setTo(toEmail);
@@ -36,6 +49,8 @@ public class MailService {
                 "\nThis code expires at: " + expiresAt +
                 "\nIf you did not request this, please ignore.");
 
-        mailSender.send(message);
+        if (!mailQueue.enqueue(message)) {
+            throw new RuntimeException("Mail queue is full or shutting down");
+        }
     }
 }
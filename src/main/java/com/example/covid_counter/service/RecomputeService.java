@@ -0,0 +1,92 @@
+package com.example.covid_counter.service;
+
+import com.example.covid_counter.event.TableReloadedEvent;
+import com.example.covid_counter.event.Tables;
+import com.example.covid_counter.model.RecomputeReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Recomputes the derived columns of country_wise_latest for every country at once.
+ *
+ * Same rule as {@link CountryWiseLatestService#updateRecovered}, applied to the whole table
+ * with one set-based SQL UPDATE instead of one HTTP call (and two statements) per country:
+ *  - Recovered = max(0, Confirmed - Deaths - Active)
+ *  - the three "per 100" ratios and "1 week % increase", rounded to 2 decimals
+ *    (NULL when the divisor is 0, the same way ingest stores "inf").
+ */
+@Service
+public class RecomputeService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecomputeService.class);
+
+    private static final String RECOVERED =
+            "GREATEST(0, COALESCE(`Confirmed`, 0) - COALESCE(`Deaths`, 0) - COALESCE(`Active`, 0))";
+    // "* 100.0" makes each division decimal, rather than relying on MySQL doing so for int / int.
+    private static final String DEATHS_PER_100_CASES =
+            "ROUND(`Deaths` * 100.0 / NULLIF(`Confirmed`, 0), 2)";
+    private static final String RECOVERED_PER_100_CASES =
+            "ROUND(" + RECOVERED + " * 100.0 / NULLIF(`Confirmed`, 0), 2)";
+    private static final String DEATHS_PER_100_RECOVERED =
+            "ROUND(`Deaths` * 100.0 / NULLIF(" + RECOVERED + ", 0), 2)";
+    private static final String ONE_WEEK_PERCENT_INCREASE =
+            "ROUND(`1 week change` * 100.0 / NULLIF(`Confirmed last week`, 0), 2)";
+
+    // The WHERE clause skips rows that already hold the right values (<=> is MySQL's
+    // NULL-safe equals), so the update count is exactly the number of rows changed.
+    static final String UPDATE_SQL = "UPDATE `country_wise_latest` SET "
+            + "`Recovered` = " + RECOVERED + ", "
+            + "`Deaths / 100 Cases` = " + DEATHS_PER_100_CASES + ", "
+            + "`Recovered / 100 Cases` = " + RECOVERED_PER_100_CASES + ", "
+            + "`Deaths / 100 Recovered` = " + DEATHS_PER_100_RECOVERED + ", "
+            + "`1 week % increase` = " + ONE_WEEK_PERCENT_INCREASE
+            + " WHERE NOT (`Recovered` <=> " + RECOVERED
+            + " AND `Deaths / 100 Cases` <=> " + DEATHS_PER_100_CASES
+            + " AND `Recovered / 100 Cases` <=> " + RECOVERED_PER_100_CASES
+            + " AND `Deaths / 100 Recovered` <=> " + DEATHS_PER_100_RECOVERED
+            + " AND `1 week % increase` <=> " + ONE_WEEK_PERCENT_INCREASE + ")";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher events;
+
+    public RecomputeService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            ApplicationEventPublisher events) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.events = events;
+    }
+
+    /**
+     * Run the recompute in its own transaction and let the caches reload afterwards.
+     */
+    public RecomputeReport recomputeCountryWiseLatest() {
+        long started = System.nanoTime();
+        Integer changed = transactionTemplate.execute(status -> recomputeInCurrentTransaction());
+
+        // Committed: let in-memory views of this table rebuild.
+        if (changed != null && changed > 0) {
+            events.publishEvent(new TableReloadedEvent(Tables.COUNTRY_WISE_LATEST));
+        }
+
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Recomputed derived columns of {}: {} rows changed in {} ms",
+                Tables.COUNTRY_WISE_LATEST, changed, millis);
+        return new RecomputeReport(Tables.COUNTRY_WISE_LATEST, changed == null ? 0 : changed, millis);
+    }
+
+    /**
+     * The bare UPDATE, for callers that already run a transaction (the CSV ingest) and
+     * publish their own reload event.
+     *
+     * @return number of rows changed
+     */
+    public int recomputeInCurrentTransaction() {
+        return jdbcTemplate.update(UPDATE_SQL);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.covid_counter.service;
+
+import com.example.covid_counter.cache.ContinentRollupCache;
+import com.example.covid_counter.cache.RegionRollupCache;
+import com.example.covid_counter.cache.RollupTable;
+import com.example.covid_counter.model.RegionRollup;
+import com.example.covid_counter.model.Rollups;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Region summaries served from the incrementally maintained rollup caches,
+ * so dashboards need ~6 rows instead of the full country lists.
+ */
+@Service
+public class RollupService {
+
+    private final RegionRollupCache regionRollups;
+    private final ContinentRollupCache continentRollups;
+
+    public RollupService(RegionRollupCache regionRollups, ContinentRollupCache continentRollups) {
+        this.regionRollups = regionRollups;
+        this.continentRollups = continentRollups;
+    }
+
+    public Rollups getAll() {
+        return new Rollups(getWhoRegions(), getContinents());
+    }
+
+    /**
+     * Sums per WHO region. Population (for the per-million rates) comes from the
+     * worldometer_data rows of the same WHO region.
+     */
+    public List<RegionRollup> getWhoRegions() {
+        Map<String, RollupTable.Totals> populations = continentRollups.snapshot().byWhoRegion().groups();
+        List<RegionRollup> result = new ArrayList<>();
+        for (Map.Entry<String, RollupTable.Totals> e : regionRollups.snapshot().groups().entrySet()) {
+            RollupTable.Totals population = populations.get(e.getKey());
+            result.add(toRollup(e.getKey(), e.getValue(), population == null ? 0 : population.population()));
+        }
+        return result;
+    }
+
+    public List<RegionRollup> getContinents() {
+        List<RegionRollup> result = new ArrayList<>();
+        for (Map.Entry<String, RollupTable.Totals> e : continentRollups.snapshot().byContinent().groups().entrySet()) {
+            result.add(toRollup(e.getKey(), e.getValue(), e.getValue().population()));
+        }
+        return result;
+    }
+
+    private static RegionRollup toRollup(String region, RollupTable.Totals t, long population) {
+        return new RegionRollup(region, t.rows(), t.confirmed(), t.deaths(), t.active(), population,
+                perMillion(t.confirmed(), population), perMillion(t.deaths(), population),
+                perMillion(t.active(), population));
+    }
+
+    private static Double perMillion(long value, long population) {
+        if (population <= 0) {
+            return null;
+        }
+        return Math.round(value * 1_000_000.0 / population * 100) / 100.0;
+    }
+}
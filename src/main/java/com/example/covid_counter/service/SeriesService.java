@@ -0,0 +1,108 @@
+package com.example.covid_counter.service;
+
+import com.example.covid_counter.model.SeriesField;
+import com.example.covid_counter.repo.FullGroupedRepo;
+import com.example.covid_counter.repo.StreamingHints;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Per-country daily series from full_grouped.
+ *
+ * Rows are read through a streaming cursor and written to the response as they arrive,
+ * so a wide date range never becomes a List in memory. Only the requested columns are selected.
+ */
+@Service
+public class SeriesService {
+
+    private final FullGroupedRepo repo;
+    private final JdbcTemplate streamingJdbc;
+    private final ObjectMapper objectMapper;
+
+    public SeriesService(FullGroupedRepo repo, DataSource dataSource, ObjectMapper objectMapper) {
+        this.repo = repo;
+        this.objectMapper = objectMapper;
+        this.streamingJdbc = StreamingHints.streamingJdbcTemplate(dataSource);
+    }
+
+    public boolean hasCountry(String country) {
+        return repo.existsByCountryRegion(country);
+    }
+
+    /**
+     * Write {"country": ..., "fields": [...], "points": [{"date": ..., field: value}, ...]}.
+     * from/to are inclusive and optional.
+     */
+    public void writeSeries(String country, LocalDate from, LocalDate to, List<SeriesField> fields, OutputStream out) {
+        StringBuilder sql = new StringBuilder("SELECT `Date`");
+        for (SeriesField field : fields) {
+            sql.append(", `").append(field.column()).append('`');
+        }
+        sql.append(" FROM `full_grouped` WHERE `Country/Region` = ?");
+
+        List<Object> args = new ArrayList<>();
+        args.add(country);
+        if (from != null) {
+            sql.append(" AND `Date` >= ?");
+            args.add(from);
+        }
+        if (to != null) {
+            sql.append(" AND `Date` <= ?");
+            args.add(to);
+        }
+        sql.append(" ORDER BY `Date`");
+
+        try (JsonGenerator gen = objectMapper.createGenerator(out)) {
+            gen.writeStartObject();
+            gen.writeStringProperty("country", country);
+            gen.writeName("fields");
+            gen.writeStartArray();
+            gen.writeString("date");
+            for (SeriesField field : fields) {
+                gen.writeString(field.jsonName());
+            }
+            gen.writeEndArray();
+
+            gen.writeName("points");
+            gen.writeStartArray();
+            streamingJdbc.query(sql.toString(), (RowCallbackHandler) rs -> writePoint(gen, rs, fields), args.toArray());
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writePoint(JsonGenerator gen, ResultSet rs, List<SeriesField> fields) throws SQLException {
+        gen.writeStartObject();
+        gen.writeStringProperty("date", rs.getObject(1, LocalDate.class).toString());
+        for (int i = 0; i < fields.size(); i++) {
+            gen.writeName(fields.get(i).jsonName());
+            long value = rs.getLong(i + 2);
+            if (rs.wasNull()) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(value);
+            }
+        }
+        gen.writeEndObject();
+    }
+
+    /**
+     * Comma separated JSON names, handy for error messages.
+     */
+    public static String knownFields() {
+        return Arrays.stream(SeriesField.values()).map(SeriesField::jsonName).collect(Collectors.joining(","));
+    }
+}
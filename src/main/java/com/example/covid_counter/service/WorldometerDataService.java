@@ -1,46 +1,88 @@
 package com.example.covid_counter.service;
 
+import com.example.covid_counter.cache.PrefixIndex;
+import com.example.covid_counter.cache.WorldometerCache;
+import com.example.covid_counter.event.RowChangedEvent;
+import com.example.covid_counter.event.Tables;
+import com.example.covid_counter.model.BulkUpdateReport;
+import com.example.covid_counter.model.WorldometerColumns;
 import com.example.covid_counter.model.WorldometerData;
 import com.example.covid_counter.repo.WorldometerDataRepo;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
 import java.util.List;
 
 @Service
 public class WorldometerDataService {
 
+    // Typeahead ranking after exact matches: most cases first.
+    private static final Comparator<WorldometerData> BY_TOTAL_CASES_DESC = Comparator.comparing(
+            WorldometerData::getTotalCases, Comparator.nullsLast(Comparator.reverseOrder()));
+
     private final WorldometerDataRepo repo;
+    private final WorldometerCache cache;
+    private final ApplicationEventPublisher events;
+    private final BulkUpdater bulk;
 
-    public WorldometerDataService(WorldometerDataRepo repo) {
+    public WorldometerDataService(WorldometerDataRepo repo, WorldometerCache cache, ApplicationEventPublisher events,
+                                  BulkUpdater bulk) {
         this.repo = repo;
+        this.cache = cache;
+        this.events = events;
+        this.bulk = bulk;
     }
 
     /**
      * Fetch all rows with optional prefix filters for country and continent.
      * If no filters are provided, returns all rows.
+     * Served from the in-memory prefix indexes rather than a LIKE query.
      */
     public List<WorldometerData> getAll(String countryPrefix, String continentPrefix) {
         boolean hasCountry = countryPrefix != null && !countryPrefix.isBlank();
         boolean hasContinent = continentPrefix != null && !continentPrefix.isBlank();
+        WorldometerCache.Snapshot snapshot = cache.snapshot();
 
         if (hasCountry && hasContinent) {
-            return repo.findByCountryRegionStartingWithIgnoreCaseAndContinentStartingWithIgnoreCase(
-                    countryPrefix, continentPrefix);
+            return snapshot.byCountry().startingWith(countryPrefix).stream()
+                    .filter(row -> PrefixIndex.matches(row.getContinent(), continentPrefix))
+                    .toList();
         } else if (hasCountry) {
-            return repo.findByCountryRegionStartingWithIgnoreCase(countryPrefix);
+            return snapshot.byCountry().startingWith(countryPrefix);
         } else if (hasContinent) {
-            return repo.findByContinentStartingWithIgnoreCase(continentPrefix);
+            return snapshot.byContinent().startingWith(continentPrefix);
+        }
+        return snapshot.all(); // no filters
+    }
+
+    /**
+     * Whole table as one array per field (see {@link WorldometerColumns}).
+     */
+    public WorldometerColumns getColumns() {
+        return cache.snapshot().columns();
+    }
+
+    /**
+     * Search-as-you-type on country: exact match first, then by total cases, at most limit rows.
+     */
+    public List<WorldometerData> search(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
         }
-        return repo.findAll(); // no filters
+        return cache.snapshot().byCountry().search(prefix.trim(), limit, BY_TOTAL_CASES_DESC);
     }
 
     /**
      * Update a row by country (acts as the ID).
      */
+    @Transactional
     public WorldometerData updateByCountry(String country, WorldometerData updated) {
         WorldometerData existing = repo.findById(country)
                 .orElseThrow(() -> new EntityNotFoundException("Record not found for country: " + country));
+        WorldometerData before = RowChangedEvent.copyOf(existing);
 
         // Keep ID stable
         existing.setCountryRegion(country);
@@ -61,6 +103,16 @@ public class WorldometerDataService {
         existing.setTestsPer1Mpop(updated.getTestsPer1Mpop());
         existing.setWhoRegion(updated.getWhoRegion());
 
-        return repo.save(existing);
+        WorldometerData saved = repo.save(existing);
+        events.publishEvent(new RowChangedEvent(Tables.WORLDOMETER, country, before, RowChangedEvent.copyOf(saved)));
+        return saved;
+    }
+
+    /**
+     * Patch many countries in one transaction; only non-null fields of each row are applied.
+     */
+    @Transactional
+    public BulkUpdateReport bulkUpdate(List<WorldometerData> rows) {
+        return bulk.apply(Tables.WORLDOMETER, repo, rows, WorldometerData::getCountryRegion);
     }
 }
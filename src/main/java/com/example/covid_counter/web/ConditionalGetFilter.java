@@ -0,0 +1,215 @@
+package com.example.covid_counter.web;
+
+import com.example.covid_counter.event.TableVersions;
+import com.example.covid_counter.event.Tables;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Conditional GET and pre-compressed bodies for the data endpoints.
+ *
+ * Every response gets a strong ETag made from the versions of the tables behind it
+ * ({@link TableVersions}). A request whose If-None-Match still matches is answered with
+ * 304 straight away, without running the controller or touching the DB.
+ *
+ * The bytes of each 200 response are kept (plain and gzipped) until the table changes,
+ * so repeat requests without an ETag skip serialisation and compression as well.
+ */
+@Component
+public class ConditionalGetFilter extends OncePerRequestFilter {
+
+    // Path prefix -> tables whose changes alter the responses under it.
+    private static final Map<String, List<String>> TABLES_BY_PREFIX = Map.of(
+            "/countries", List.of(Tables.COUNTRY_WISE_LATEST),
+            "/worldometer", List.of(Tables.WORLDOMETER),
+            "/day-wise", List.of(Tables.DAY_WISE),
+            "/covid-data", List.of(Tables.COVID_DATA),
+            "/rollups", List.of(Tables.COUNTRY_WISE_LATEST, Tables.WORLDOMETER));
+
+    private static final String CBOR = "application/cbor";
+
+    // Below this size gzip saves too little to be worth the CPU on the client.
+    private static final int MIN_GZIP_BYTES = 1024;
+
+    private final TableVersions versions;
+    private final int maxBodyBytes;
+    private final Map<String, CachedBody> bodies;
+
+    public ConditionalGetFilter(TableVersions versions,
+                                @Value("${app.http.cached-bodies:256}") int maxBodies,
+                                @Value("${app.http.cached-body-max-bytes:4194304}") int maxBodyBytes) {
+        this.versions = versions;
+        this.maxBodyBytes = maxBodyBytes;
+        // Small LRU of recent responses; stale entries are simply never matched again.
+        this.bodies = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedBody> eldest) {
+                return size() > maxBodies;
+            }
+        };
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || tablesFor(request.getServletPath()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        List<String> tables = tablesFor(request.getServletPath());
+        boolean cbor = acceptsCbor(request);
+        String etag = tagFor(versions.etag(tables), cbor);
+        boolean acceptsGzip = acceptsGzip(request);
+        addVary(response, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader(HttpHeaders.ETAG, etag);
+            return;
+        }
+
+        String key = (cbor ? "cbor:" : "json:") + (request.getQueryString() == null
+                ? request.getServletPath()
+                : request.getServletPath() + '?' + request.getQueryString());
+        CachedBody body = lookup(key, etag);
+        if (body == null) {
+            ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+            filterChain.doFilter(request, wrapper);
+            if (wrapper.getStatus() != HttpServletResponse.SC_OK || wrapper.getContentType() == null) {
+                wrapper.copyBodyToResponse();
+                return;
+            }
+            byte[] plain = wrapper.getContentAsByteArray();
+            body = new CachedBody(etag, wrapper.getContentType(), plain,
+                    plain.length >= MIN_GZIP_BYTES ? gzip(plain) : null);
+            // Only keep it if no change committed while the controller ran.
+            boolean cborBody = body.contentType().startsWith(CBOR);
+            if (plain.length <= maxBodyBytes && cborBody == cbor && etag.equals(tagFor(versions.etag(tables), cbor))) {
+                store(key, body);
+            }
+        }
+        write(response, body, acceptsGzip);
+    }
+
+    private static void write(HttpServletResponse response, CachedBody body, boolean acceptsGzip) throws IOException {
+        byte[] bytes = body.plain();
+        String etag = body.etag();
+        if (acceptsGzip && body.gzipped() != null) {
+            bytes = body.gzipped();
+            // A different encoding is a different representation, so it needs its own strong ETag.
+            etag = gzipTag(etag);
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setContentType(body.contentType());
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+
+    // Adds to Vary rather than replacing it: the CORS filter has already put Origin there.
+    private static void addVary(HttpServletResponse response, String... headers) {
+        Set<String> present = new HashSet<>();
+        for (String value : response.getHeaders(HttpHeaders.VARY)) {
+            for (String name : value.split(",")) {
+                present.add(name.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        for (String header : headers) {
+            if (!present.contains(header.toLowerCase(Locale.ROOT))) {
+                response.addHeader(HttpHeaders.VARY, header);
+            }
+        }
+    }
+
+    /**
+     * True if any tag in If-None-Match names the current version, in either encoding.
+     * (Weak comparison, as RFC 9110 prescribes for If-None-Match.)
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String gz = gzipTag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag) || tag.equals(gz)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String gzipTag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gz\"";
+    }
+
+    // JSON and CBOR bodies differ, so each needs its own strong ETag and cache entry.
+    private static String tagFor(String etag, boolean cbor) {
+        return cbor ? etag.substring(0, etag.length() - 1) + "-cbor\"" : etag;
+    }
+
+    // Only clients that list CBOR first get it (what the controllers negotiate, too).
+    private static boolean acceptsCbor(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept != null && accept.startsWith(CBOR);
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return accept != null && accept.contains("gzip");
+    }
+
+    private static List<String> tablesFor(String path) {
+        int end = path.indexOf('/', 1);
+        return TABLES_BY_PREFIX.get(end < 0 ? path : path.substring(0, end));
+    }
+
+    private CachedBody lookup(String key, String etag) {
+        synchronized (bodies) {
+            CachedBody body = bodies.get(key);
+            return body != null && body.etag().equals(etag) ? body : null;
+        }
+    }
+
+    private void store(String key, CachedBody body) {
+        synchronized (bodies) {
+            bodies.put(key, body);
+        }
+    }
+
+    private static byte[] gzip(byte[] plain) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(plain.length / 4 + 64);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(plain);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record CachedBody(String etag, String contentType, byte[] plain, byte[] gzipped) {
+    }
+}
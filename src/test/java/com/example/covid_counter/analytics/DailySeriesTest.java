@@ -0,0 +1,130 @@
+package com.example.covid_counter.analytics;
+
+import com.example.covid_counter.model.DailyTrend;
+import com.example.covid_counter.model.DayWise;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DailySeriesTest {
+
+    @Test
+    void computesRollingAverageGrowthDoublingAndPeaksInOnePass() {
+        // Confirmed doubles every day; new cases peak on the 3rd.
+        DailySeries series = DailySeries.of(List.of(
+                day("2020-01-01", 10, 0),
+                day("2020-01-02", 20, 10),
+                day("2020-01-03", 40, 30),
+                day("2020-01-04", 80, 20)));
+
+        DailyTrend confirmed = series.trend(DailyMetric.CONFIRMED, 2);
+        assertArrayEquals(new long[] {10, 20, 40, 80}, confirmed.getValues());
+        assertArrayEquals(new Double[] {null, 15.0, 30.0, 60.0}, confirmed.getAverage());
+        assertArrayEquals(new Double[] {null, 100.0, 100.0, 100.0}, confirmed.getGrowthPercent());
+        // The first `window` days have no earlier value to compare with.
+        assertNull(confirmed.getDoublingDays()[1]);
+        assertEquals(1.0, confirmed.getDoublingDays()[2], 1e-9);
+        assertEquals(1.0, confirmed.getDoublingDays()[3], 1e-9);
+        assertEquals(LocalDate.of(2020, 1, 4), confirmed.getPeakDate());
+
+        DailyTrend newCases = series.trend(DailyMetric.NEW_CASES, 2);
+        assertEquals(LocalDate.of(2020, 1, 3), newCases.getPeakDate());
+        assertEquals(30, newCases.getPeakValue());
+        assertEquals(LocalDate.of(2020, 1, 4), newCases.getPeakAverageDate(), "(30 + 20) / 2 is the highest average");
+        assertEquals(25.0, newCases.getPeakAverage());
+        assertNull(newCases.getGrowthPercent()[1], "growth after a day with 0 is undefined");
+    }
+
+    @Test
+    void fillsMissingDaysAndCachesTrendsPerSnapshot() {
+        DailySeries series = DailySeries.of(List.of(day("2020-01-01", 10, 10), day("2020-01-03", 30, 20)));
+
+        // The gap repeats the cumulative value and counts no new cases.
+        assertEquals(3, series.days());
+        assertArrayEquals(new long[] {10, 10, 30}, series.trend(DailyMetric.CONFIRMED, 1).getValues());
+        assertArrayEquals(new long[] {10, 0, 20}, series.trend(DailyMetric.NEW_CASES, 1).getValues());
+
+        DailyTrend cached = series.trend(DailyMetric.CONFIRMED, 7);
+        assertSame(cached, series.trend(DailyMetric.CONFIRMED, 7), "same (metric, window) is computed once");
+
+        // An update builds a new series, so old trends are not reused.
+        DailySeries updated = series.with(day("2020-01-02", 15, 5));
+        assertArrayEquals(new long[] {10, 15, 30}, updated.trend(DailyMetric.CONFIRMED, 1).getValues());
+        assertNotSame(cached, updated.trend(DailyMetric.CONFIRMED, 7));
+        assertArrayEquals(new long[] {10, 10, 30}, series.trend(DailyMetric.CONFIRMED, 1).getValues(),
+                "the old snapshot is unchanged");
+
+        // A day past the end extends the range.
+        DailySeries extended = series.with(day("2020-01-05", 50, 20));
+        assertArrayEquals(new long[] {10, 10, 30, 30, 50}, extended.trend(DailyMetric.CONFIRMED, 1).getValues());
+    }
+
+    @Test
+    void updatesBeforeAGapCarryTheNewValuesAcrossIt() {
+        // 01-02 and 01-03 are missing; they repeat 01-01 until 01-04.
+        List<DayWise> rows = List.of(day("2020-01-01", 10, 10), day("2020-01-04", 40, 30));
+        DailySeries series = DailySeries.of(rows);
+
+        DailySeries updated = series.with(day("2020-01-01", 12, 12));
+        assertArrayEquals(new long[] {12, 12, 12, 40}, updated.trend(DailyMetric.CONFIRMED, 1).getValues());
+        assertArrayEquals(new long[] {12, 0, 0, 30}, updated.trend(DailyMetric.NEW_CASES, 1).getValues());
+
+        // Same as building from scratch, for every metric and window.
+        DailySeries rebuilt = DailySeries.of(List.of(day("2020-01-01", 12, 12), day("2020-01-04", 40, 30)));
+        for (DailyMetric metric : DailyMetric.values()) {
+            assertArrayEquals(rebuilt.trend(metric, 2).getValues(), updated.trend(metric, 2).getValues(), metric.name());
+            assertArrayEquals(rebuilt.trend(metric, 2).getAverage(), updated.trend(metric, 2).getAverage(), metric.name());
+        }
+
+        // A day added before the first one: the new gap is filled from it, too.
+        DailySeries earlier = series.with(day("2019-12-30", 5, 5));
+        assertArrayEquals(new long[] {5, 5, 10, 10, 10, 40}, earlier.trend(DailyMetric.CONFIRMED, 1).getValues());
+    }
+
+    @Test
+    void looksUpDaysAndRangesByOffset() {
+        DailySeries series = DailySeries.of(List.of(
+                day("2020-01-03", 30, 20), day("2020-01-01", 10, 10), day("2020-01-04", 40, 10)));
+
+        assertEquals(30L, series.row(LocalDate.of(2020, 1, 3)).getConfirmed());
+        assertNull(series.row(LocalDate.of(2020, 1, 2)), "gap day has no row");
+        assertNull(series.row(LocalDate.of(2019, 12, 31)), "before the first day");
+        assertNull(series.row(LocalDate.of(2020, 2, 1)), "after the last day");
+
+        // Rows come back in date order, skipping gaps; open ends and out-of-range bounds are clamped.
+        assertEquals(List.of("2020-01-01", "2020-01-03", "2020-01-04"), dates(series.rows(null, null)));
+        assertEquals(List.of("2020-01-03"), dates(series.rows(LocalDate.of(2020, 1, 2), LocalDate.of(2020, 1, 3))));
+        assertEquals(List.of("2020-01-01"), dates(series.rows(LocalDate.of(2019, 1, 1), LocalDate.of(2020, 1, 1))));
+        assertEquals(List.of(), dates(series.rows(LocalDate.of(2021, 1, 1), null)));
+        assertEquals(List.of(), dates(series.rows(LocalDate.of(2020, 1, 4), LocalDate.of(2020, 1, 1))));
+    }
+
+    @Test
+    void rejectsOutOfRangeWindows() {
+        DailySeries series = DailySeries.of(List.of(day("2020-01-01", 1, 1)));
+        assertThrows(IllegalArgumentException.class, () -> series.trend(DailyMetric.CONFIRMED, 0));
+        assertThrows(IllegalArgumentException.class, () -> series.trend(DailyMetric.CONFIRMED, DailySeries.MAX_WINDOW + 1));
+        assertEquals(DailyMetric.NEW_CASES, DailyMetric.fromName("newCases"));
+        assertEquals(DailyMetric.NEW_CASES, DailyMetric.fromName("new-cases"));
+    }
+
+    private static List<String> dates(List<DayWise> rows) {
+        return rows.stream().map(r -> r.getDate().toString()).toList();
+    }
+
+    private static DayWise day(String date, long confirmed, long newCases) {
+        DayWise row = new DayWise();
+        row.setDate(LocalDate.parse(date));
+        row.setConfirmed(confirmed);
+        row.setNewCases(newCases);
+        return row;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.covid_counter.analytics;
+
+import com.example.covid_counter.ingest.CsvReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProvinceColumnStoreTest {
+
+    @Test
+    void aggregatesByRegionAndCountryFromPrimitiveColumns() throws Exception {
+        // Two provinces of one country plus a second country, over two days, and one bad row.
+        String csv = "Province/State,Country/Region,Lat,Long,Date,Confirmed,Deaths,Recovered,Active,WHO Region\n"
+                + "A,Land,1.0,2.0,2020-01-22,10,1,0,9,Europe\n"
+                + "B,Land,1.5,2.5,2020-01-22,5,0,0,5,Europe\n"
+                + ",Other,3.0,4.0,2020-01-22,7,0,0,7,Africa\n"
+                + "A,Land,1.0,2.0,2020-01-23,30,1,0,29,Europe\n"
+                + "B,Land,1.5,2.5,2020-01-23,6,0,0,6,Europe\n"
+                + ",Other,3.0,4.0,2020-01-23,8,0,0,8,Africa\n"
+                + ",Broken,3.0,4.0,not-a-date,8,0,0,8,Africa\n";
+
+        ProvinceColumnStore store = ProvinceColumnStore.read(new CsvReader(new StringReader(csv)));
+
+        assertEquals(6, store.size());
+        assertEquals(1, store.rejected());
+        assertEquals(2, store.dayCount());
+        assertEquals(2, store.countries().size(), "country strings are dictionary encoded");
+
+        // Region totals per day: [Europe][day], [Africa][day]
+        long[][] byRegion = store.sumByRegionPerDay(Metric.CONFIRMED);
+        int europe = store.regions().idOf("europe");
+        assertArrayEquals(new long[] {15, 36}, byRegion[europe]);
+
+        // Country series sums its provinces.
+        int land = store.countries().idOf("LAND");
+        assertArrayEquals(new long[] {15, 36}, store.countrySeries(Metric.CONFIRMED, land));
+        assertEquals(-1, store.provinceAt(2), "blank province is encoded as -1");
+
+        // Three places (A/Land, B/Land, Other), each with one row per day, found through the geo index.
+        assertEquals(3, store.placeCount());
+        int[] nearA = store.places().near(1.0, 2.0, 100, 10);
+        assertEquals(2, nearA.length, "A and B are about 80 km apart; Other is far away");
+        int day2 = store.minDay() + 1;
+        assertEquals(30, store.column(Metric.CONFIRMED)[store.placeRow(nearA[0], day2)]);
+        assertEquals(-1, store.placeRow(nearA[0], store.minDay() + 5), "no row outside the date range");
+    }
+}
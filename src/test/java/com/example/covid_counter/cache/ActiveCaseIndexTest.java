@@ -0,0 +1,40 @@
+package com.example.covid_counter.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ActiveCaseIndexTest {
+
+    // Active counts by ordinal; ordinal 2 has no value and must never match.
+    private final List<Long> actives = Arrays.asList(50L, 10L, null, 30L, 10L);
+    private final ActiveCaseIndex index = ActiveCaseIndex.build(actives, v -> v);
+
+    @Test
+    void thresholdQueriesReturnOrdinalsInSnapshotOrder() {
+        assertEquals(4, index.size());
+        assertArrayEquals(new int[] {1, 3, 4}, index.lessThan(50));
+        assertArrayEquals(new int[] {0, 3}, index.greaterThan(10));
+        assertArrayEquals(new int[] {1, 3, 4}, index.between(10, 30));
+        assertArrayEquals(new int[0], index.between(31, 49));
+        // Top-N is ordered by Active, highest first.
+        assertArrayEquals(new int[] {0, 3}, index.top(2));
+    }
+
+    @Test
+    void replacePatchesTheIndexLikeAFullRebuild() {
+        // Ordinal 1 goes from 10 to 70, ordinal 2 gets its first value.
+        ActiveCaseIndex patched = index.replace(1, 10L, 70L).replace(2, null, 20L);
+
+        ActiveCaseIndex rebuilt = ActiveCaseIndex.build(Arrays.asList(50L, 70L, 20L, 30L, 10L), v -> v);
+        assertArrayEquals(rebuilt.top(5), patched.top(5));
+        assertArrayEquals(new int[] {2, 3, 4}, patched.lessThan(50));
+
+        // The original index is untouched.
+        assertArrayEquals(new int[] {1, 3, 4}, index.lessThan(50));
+    }
+}
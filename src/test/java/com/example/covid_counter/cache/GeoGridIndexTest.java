@@ -0,0 +1,89 @@
+package com.example.covid_counter.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GeoGridIndexTest {
+
+    @Test
+    void boxAndRadiusQueriesMatchAFullScan() {
+        // Random points all over the globe, compared against brute force on many random queries.
+        Random random = new Random(42);
+        int n = 2000;
+        double[] lat = new double[n];
+        double[] lon = new double[n];
+        for (int i = 0; i < n; i++) {
+            lat[i] = random.nextDouble() * 180 - 90;
+            lon[i] = random.nextDouble() * 360 - 180;
+        }
+        lat[7] = Double.NaN; // missing coordinates are never returned
+        GeoGridIndex index = GeoGridIndex.build(lat, lon, 3.0);
+        assertEquals(n - 1, index.size());
+
+        for (int q = 0; q < 200; q++) {
+            double a = random.nextDouble() * 180 - 90;
+            double b = random.nextDouble() * 180 - 90;
+            double west = random.nextDouble() * 360 - 180;
+            double east = random.nextDouble() * 360 - 180; // west > east crosses the antimeridian
+            double south = Math.min(a, b);
+            double north = Math.max(a, b);
+            assertArrayEquals(scanBox(lat, lon, south, west, north, east), index.withinBox(south, west, north, east));
+
+            double centerLat = random.nextDouble() * 180 - 90;
+            double centerLon = random.nextDouble() * 360 - 180;
+            double radius = random.nextDouble() * 3000;
+            assertArrayEquals(scanNear(lat, lon, centerLat, centerLon, radius),
+                    index.near(centerLat, centerLon, radius, Integer.MAX_VALUE),
+                    "near(" + centerLat + ", " + centerLon + ", " + radius + ")");
+        }
+    }
+
+    @Test
+    void nearReturnsNearestFirstAndHandlesTheAntimeridianAndPoles() {
+        // Fiji and Samoa sit on opposite sides of 180 degrees; the pole point is reachable from any longitude.
+        double[] lat = {-17.7, -13.8, 89.9, 51.5};
+        double[] lon = {178.0, -172.1, 10.0, -0.1};
+        GeoGridIndex index = GeoGridIndex.build(lat, lon, GeoGridIndex.DEFAULT_CELL_DEGREES);
+
+        assertArrayEquals(new int[] {1, 0}, index.near(-14.0, -171.0, 1500, 10));
+        assertArrayEquals(new int[] {1}, index.near(-14.0, -171.0, 1500, 1), "limit keeps the nearest");
+        assertArrayEquals(new int[] {2}, index.near(89.5, -170.0, 100, 10));
+        assertArrayEquals(new int[] {0, 1}, index.withinBox(-20, 170, -10, -170));
+        assertEquals(343.5, GeoGridIndex.distanceKm(51.5074, -0.1278, 48.8566, 2.3522), 1.0, "London - Paris");
+
+        assertThrows(IllegalArgumentException.class, () -> index.near(91, 0, 10, 10));
+        assertThrows(IllegalArgumentException.class, () -> index.near(0, 0, -1, 10));
+        assertThrows(IllegalArgumentException.class, () -> index.withinBox(10, 0, 0, 10));
+    }
+
+    private static int[] scanBox(double[] lat, double[] lon, double south, double west, double north, double east) {
+        List<Integer> hits = new ArrayList<>();
+        for (int i = 0; i < lat.length; i++) {
+            boolean lonInside = west <= east ? lon[i] >= west && lon[i] <= east : lon[i] >= west || lon[i] <= east;
+            if (lat[i] >= south && lat[i] <= north && lonInside) {
+                hits.add(i);
+            }
+        }
+        return hits.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int[] scanNear(double[] lat, double[] lon, double centerLat, double centerLon, double radius) {
+        List<double[]> hits = new ArrayList<>();
+        for (int i = 0; i < lat.length; i++) {
+            double km = GeoGridIndex.distanceKm(centerLat, centerLon, lat[i], lon[i]);
+            if (!Double.isNaN(lat[i]) && km <= radius) {
+                hits.add(new double[] {(float) km, i});
+            }
+        }
+        hits.sort(Comparator.<double[]>comparingDouble(h -> h[0]).thenComparingDouble(h -> h[1]));
+        return hits.stream().mapToInt(h -> (int) h[1]).toArray();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.covid_counter.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefixIndexTest {
+
+    private final List<String> countries = List.of("Indonesia", "india", "Iran", "Ireland", "Chad", "Indo");
+    private final PrefixIndex<String> index = PrefixIndex.build(countries, c -> c);
+
+    @Test
+    void startingWithIgnoresCaseAndReturnsKeyOrder() {
+        assertEquals(List.of("india", "Indo", "Indonesia"), index.startingWith("IND"));
+        assertEquals(List.of("Iran", "Ireland"), index.startingWith("ir"));
+        assertTrue(index.startingWith("z").isEmpty());
+        // An empty prefix matches everything.
+        assertEquals(countries.size(), index.startingWith("").size());
+    }
+
+    @Test
+    void searchPutsExactMatchFirstThenRanksAndLimits() {
+        // Rank: longer names first, just to prove the comparator is used.
+        Comparator<String> longestFirst = Comparator.comparingInt(String::length).reversed();
+
+        assertEquals(List.of("Indo", "Indonesia"), index.search("indo", 2, longestFirst));
+        assertEquals(List.of("Indonesia", "india"), index.search("in", 2, longestFirst));
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.covid_counter.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class RollupTableTest {
+
+    // Minimal row: a group key and one number.
+    record Row(String region, long cases) {
+    }
+
+    private static RollupTable.Totals totals(Row row) {
+        return new RollupTable.Totals(1, row.cases(), 0, 0, 0);
+    }
+
+    private final RollupTable table = RollupTable.build(
+            List.of(new Row("Europe", 10), new Row("Africa", 5), new Row("Europe", 7), new Row(null, 1)),
+            Row::region, RollupTableTest::totals);
+
+    @Test
+    void buildSumsPerGroupAndCollectsMissingKeysUnderUnknown() {
+        assertEquals(List.of("Africa", "Europe", "Unknown"), List.copyOf(table.groups().keySet()));
+        assertEquals(17, table.groups().get("Europe").confirmed());
+        assertEquals(2, table.groups().get("Europe").rows());
+    }
+
+    @Test
+    void replaceAppliesDeltasAndDropsEmptyGroups() {
+        // A Europe row grows from 7 to 9: only the delta is applied.
+        RollupTable grown = table.replace(new Row("Europe", 7), new Row("Europe", 9), Row::region, RollupTableTest::totals);
+        assertEquals(19, grown.groups().get("Europe").confirmed());
+
+        // The Africa row moves to Europe: Africa becomes empty and disappears.
+        RollupTable moved = grown.replace(new Row("Africa", 5), new Row("europe", 5), Row::region, RollupTableTest::totals);
+        assertFalse(moved.groups().containsKey("Africa"));
+        assertEquals(24, moved.groups().get("Europe").confirmed());
+        assertEquals(3, moved.groups().get("Europe").rows());
+
+        // The original table is untouched (snapshots are immutable).
+        assertEquals(17, table.groups().get("Europe").confirmed());
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.covid_counter.config;
+
+import com.example.covid_counter.model.CountryWiseLatest;
+import com.example.covid_counter.model.CovidDataSimple;
+import com.example.covid_counter.model.DayWise;
+import com.example.covid_counter.model.WorldometerData;
+import com.example.covid_counter.repo.CacheRegions;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.spi.MappingMetamodelImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SecondLevelCacheConfigTest {
+
+    private static CacheManager newManager(String name) {
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create(name), SecondLevelCacheConfigTest.class.getClassLoader());
+    }
+
+    @Test
+    void regionsGetTheirDefaultsUnlessOverridden() {
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("app.l2." + CacheRegions.COVID_DATA + ".max-entries", "10")
+                .withProperty("app.l2." + CacheRegions.DAY_WISE + ".ttl", "30s");
+        try (CacheManager manager = newManager("l2-test-defaults")) {
+            SecondLevelCacheConfig.createRegions(manager, env);
+
+            CaffeineConfiguration<?, ?> rows = config(manager, CacheRegions.COVID_DATA);
+            assertEquals(10, rows.getMaximumSize().getAsLong());
+            assertEquals(TimeUnit.HOURS.toNanos(1), rows.getExpireAfterWrite().getAsLong());
+            assertEquals(TimeUnit.SECONDS.toNanos(30),
+                    config(manager, CacheRegions.DAY_WISE).getExpireAfterWrite().getAsLong());
+            assertEquals(512, config(manager, CacheRegions.COUNTRY_WISE_LATEST).getMaximumSize().getAsLong());
+        }
+    }
+
+    @Test
+    void hibernateFindsARegionForEveryCachedEntity() {
+        // Boots Hibernate without a database, with the same settings as application.properties;
+        // missing_cache_strategy=fail makes the build throw if any region is not defined.
+        try (CacheManager manager = newManager("l2-test-hibernate")) {
+            SecondLevelCacheConfig.createRegions(manager, new MockEnvironment());
+            StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                    .applySetting(AvailableSettings.DIALECT, "org.hibernate.dialect.MySQLDialect")
+                    .applySetting(AvailableSettings.ALLOW_METADATA_ON_BOOT, "false")
+                    .applySetting(AvailableSettings.USE_SECOND_LEVEL_CACHE, "true")
+                    .applySetting(AvailableSettings.CACHE_REGION_FACTORY, "jcache")
+                    .applySetting(ConfigSettings.CACHE_MANAGER, manager)
+                    .applySetting(ConfigSettings.MISSING_CACHE_STRATEGY, "fail")
+                    .build();
+            try (SessionFactory factory = new MetadataSources(registry)
+                    .addAnnotatedClass(CountryWiseLatest.class)
+                    .addAnnotatedClass(WorldometerData.class)
+                    .addAnnotatedClass(DayWise.class)
+                    .addAnnotatedClass(CovidDataSimple.class)
+                    .buildMetadata()
+                    .buildSessionFactory()) {
+                MappingMetamodelImplementor entities =
+                        factory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel();
+                for (Class<?> entity : new Class<?>[]{CountryWiseLatest.class, WorldometerData.class,
+                        DayWise.class, CovidDataSimple.class}) {
+                    assertTrue(entities.getEntityDescriptor(entity).canReadFromCache(), entity.getSimpleName());
+                }
+                assertFalse(factory.getCache().containsEntity(DayWise.class, LocalDate.of(2020, 1, 22)));
+            }
+        }
+    }
+
+    private static CaffeineConfiguration<?, ?> config(CacheManager manager, String region) {
+        return manager.getCache(region).getConfiguration(CaffeineConfiguration.class);
+    }
+}
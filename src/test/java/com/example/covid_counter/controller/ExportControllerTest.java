@@ -0,0 +1,35 @@
+package com.example.covid_counter.controller;
+
+import com.example.covid_counter.service.ExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class ExportControllerTest {
+
+    private final ExportService exportService = mock(ExportService.class);
+
+    @Test
+    void exportsUseTheirOwnAsyncTimeoutInsteadOfTheDefault() throws Exception {
+        when(exportService.tables()).thenReturn(Set.of("full_grouped"));
+        // The MVC-wide default stays short; only the export request gets the long limit.
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new ExportController(exportService, 3_600_000))
+                .setAsyncRequestTimeout(30_000)
+                .build();
+
+        MvcResult result = mvc.perform(get("/export/full_grouped").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(3_600_000, result.getRequest().getAsyncContext().getTimeout());
+    }
+}
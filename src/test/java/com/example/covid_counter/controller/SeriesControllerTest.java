@@ -0,0 +1,69 @@
+package com.example.covid_counter.controller;
+
+import com.example.covid_counter.model.SeriesField;
+import com.example.covid_counter.service.SeriesService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class SeriesControllerTest {
+
+    private final SeriesService service = mock(SeriesService.class);
+    private final MockMvc mvc = MockMvcBuilders.standaloneSetup(new SeriesController(service)).build();
+
+    @Test
+    void unknownCountryIs404BeforeAnythingIsStreamed() throws Exception {
+        when(service.hasCountry("Atlantis")).thenReturn(false);
+
+        mvc.perform(get("/series/Atlantis"))
+                .andExpect(status().isNotFound())
+                .andExpect(request().asyncNotStarted());
+
+        verify(service, never()).writeSeries(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void unknownFieldIs400() throws Exception {
+        mvc.perform(get("/series/India").param("fields", "confirmed,height"))
+                .andExpect(status().isBadRequest());
+
+        verify(service, never()).hasCountry(any());
+    }
+
+    @Test
+    void knownCountryStreamsTheSeries() throws Exception {
+        when(service.hasCountry("India")).thenReturn(true);
+        // Blank fields means every field.
+        doAnswer(call -> {
+            call.<OutputStream>getArgument(4).write("{\"country\":\"India\"}".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(service).writeSeries(eq("India"), eq(LocalDate.of(2020, 3, 1)), eq(null), eq(List.of(SeriesField.values())), any());
+
+        MvcResult result = mvc.perform(get("/series/India").param("from", "2020-03-01").param("fields", " "))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(content().string("{\"country\":\"India\"}"));
+    }
+}
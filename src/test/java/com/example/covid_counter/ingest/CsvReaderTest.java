@@ -0,0 +1,47 @@
+package com.example.covid_counter.ingest;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    @Test
+    void parsesFieldsStraightFromTheLineBuffer() throws Exception {
+        // A header with a quoted comma, then a row with blanks, decimals and "inf".
+        String csv = "Country,\"Serious,Critical\",Lat,Ratio,Date\r\n"
+                + "Canada,18,-35.4735,inf,2020-01-22\r\n"
+                + "\n"
+                + "Chad,,3.5,0.0,2020-them01-22";
+
+        try (CsvReader reader = new CsvReader(new StringReader(csv))) {
+            // Header: the quoted field keeps its comma and loses its quotes.
+            assertTrue(reader.next());
+            assertEquals(5, reader.row().size());
+            assertEquals("Serious,Critical", reader.row().getString(1));
+
+            // First data row.
+            assertTrue(reader.next());
+            CsvRow row = reader.row();
+            assertEquals("Canada", row.getString(0));
+            assertEquals(18L, row.getLong(1));
+            assertEquals(-35.4735, row.getDouble(2), 1e-9);
+            assertTrue(Double.isNaN(row.getDouble(3)), "inf is treated as not-a-number");
+            assertEquals(18283, row.getEpochDay(4)); // 2020-01-22
+
+            // The empty line is skipped; the blank field reads as null / blank.
+            assertTrue(reader.next());
+            row = reader.row();
+            assertEquals(4, reader.lineNumber());
+            assertTrue(row.isBlank(1));
+            assertNull(row.getString(1));
+
+            // A malformed date is reported so the loader can reject the row.
+            assertThrows(IllegalArgumentException.class, () -> reader.row().getEpochDay(4));
+
+            assertFalse(reader.next());
+        }
+    }
+}
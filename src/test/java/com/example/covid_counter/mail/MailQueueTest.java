@@ -0,0 +1,130 @@
+package com.example.covid_counter.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.net.ServerSocket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MailQueueTest {
+
+    // GreenMail runs a throwaway SMTP server on localhost for each test.
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Test
+    void queuedMessagesAreDeliveredInTheBackground() throws Exception {
+        MailQueue queue = new MailQueue(sender(greenMail.getSmtp().getPort()), 100, 2, 10, 3, 10);
+        queue.start();
+        try {
+            for (int i = 0; i < 5; i++) {
+                assertTrue(queue.enqueue(message("user" + i + "@example.com")));
+            }
+
+            assertTrue(greenMail.waitForIncomingEmail(5000, 5), "All five mails should arrive");
+            MimeMessage first = greenMail.getReceivedMessages()[0];
+            assertEquals("Your login code", first.getSubject());
+        } finally {
+            queue.stop();
+        }
+        assertEquals(5, queue.sentCount());
+        assertEquals(0, queue.deadLetterCount());
+    }
+
+    @Test
+    void failingMessagesAreRetriedThenDeadLettered() throws Exception {
+        // Grab a free port and close it again, so nothing is listening there.
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        MailQueue queue = new MailQueue(sender(closedPort), 100, 1, 10, 3, 10);
+        queue.start();
+        try {
+            assertTrue(queue.enqueue(message("nobody@example.com")));
+
+            // 3 attempts with 10 ms, 20 ms backoff: well within a few seconds.
+            long deadline = System.currentTimeMillis() + 5000;
+            while (queue.deadLetterCount() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+        } finally {
+            queue.stop();
+        }
+        assertEquals(1, queue.deadLetterCount());
+        assertEquals(0, queue.sentCount());
+    }
+
+    @Test
+    void enqueueFailsFastWhenQueueIsFull() {
+        // Started without workers, so nothing drains the queue.
+        MailQueue queue = new MailQueue(sender(greenMail.getSmtp().getPort()), 1, 0, 10, 3, 10);
+        queue.start();
+
+        assertTrue(queue.enqueue(message("a@example.com")));
+        assertFalse(queue.enqueue(message("b@example.com")));
+        assertEquals(1, queue.pending());
+
+        // Left over at shutdown: dead-lettered, not silently dropped.
+        queue.stop();
+        assertEquals(1, queue.deadLetterCount());
+        assertEquals(0, queue.pending());
+    }
+
+    @Test
+    void refusesMailWhenNotRunning() {
+        MailQueue queue = new MailQueue(sender(greenMail.getSmtp().getPort()), 10, 1, 10, 3, 10);
+        assertFalse(queue.enqueue(message("early@example.com")), "no worker would ever send it");
+
+        queue.start();
+        queue.stop();
+        assertFalse(queue.enqueue(message("late@example.com")));
+        assertEquals(0, queue.pending());
+    }
+
+    @Test
+    void retriesWaitingAtShutdownAreDeadLettered() throws Exception {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        // A long backoff keeps the retry waiting in the scheduler when stop() comes.
+        MailQueue queue = new MailQueue(sender(closedPort), 100, 1, 10, 3, 60_000);
+        queue.start();
+        assertTrue(queue.enqueue(message("nobody@example.com")));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (queue.pending() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        // Give the first attempt time to fail and schedule its retry.
+        Thread.sleep(500);
+
+        queue.stop();
+        assertEquals(1, queue.deadLetterCount());
+        assertEquals(0, queue.sentCount());
+    }
+
+    private static JavaMailSenderImpl sender(int port) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("localhost");
+        sender.setPort(port);
+        return sender;
+    }
+
+    private static SimpleMailMessage message(String to) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("noreply@example.com");
+        message.setTo(to);
+        message.setSubject("Your login code");
+        message.setText("Your one-time code is: 123456");
+        return message;
+    }
+}
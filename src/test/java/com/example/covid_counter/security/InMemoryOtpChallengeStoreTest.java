@@ -0,0 +1,118 @@
+package com.example.covid_counter.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryOtpChallengeStoreTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2020-04-01T10:00:00Z"));
+
+    @Test
+    void consumesTheRightCodeOnceIgnoringEmailCase() {
+        InMemoryOtpChallengeStore store = new InMemoryOtpChallengeStore(5, clock);
+        store.save(challenge("Someone@Example.com", "123456", Duration.ofMinutes(5)));
+
+        OtpChallenge consumed = store.consume("someone@example.com", "123456");
+        assertEquals("Someone@Example.com", consumed.email(), "token is issued for the stored email");
+
+        RuntimeException again = assertThrows(RuntimeException.class, () -> store.consume("someone@example.com", "123456"));
+        assertEquals("No OTP pending. Please login again.", again.getMessage());
+    }
+
+    @Test
+    void dropsTheChallengeAfterTooManyWrongCodes() {
+        InMemoryOtpChallengeStore store = new InMemoryOtpChallengeStore(3, clock);
+        store.save(challenge("a@example.com", "123456", Duration.ofMinutes(5)));
+
+        assertThrows(RuntimeException.class, () -> store.consume("a@example.com", "000000"));
+        assertThrows(RuntimeException.class, () -> store.consume("a@example.com", "111111"));
+        RuntimeException third = assertThrows(RuntimeException.class, () -> store.consume("a@example.com", "222222"));
+        assertEquals("Invalid OTP code.", third.getMessage());
+
+        // Even the right code no longer works: the user has to log in again.
+        RuntimeException after = assertThrows(RuntimeException.class, () -> store.consume("a@example.com", "123456"));
+        assertEquals("No OTP pending. Please login again.", after.getMessage());
+    }
+
+    @Test
+    void rejectsExpiredCodesAndSweepsThemFromTheWheel() {
+        InMemoryOtpChallengeStore store = new InMemoryOtpChallengeStore(5, clock);
+        store.save(challenge("short@example.com", "111111", Duration.ofSeconds(30)));
+        // Lands in the same wheel slot as the short one, but one full turn later.
+        store.save(challenge("long@example.com", "222222",
+                Duration.ofSeconds(InMemoryOtpChallengeStore.WHEEL_SLOTS + 30)));
+
+        clock.advance(Duration.ofSeconds(31));
+        store.sweep();
+        assertEquals(1, store.size(), "the short challenge is gone; the long one stays");
+
+        clock.advance(Duration.ofSeconds(InMemoryOtpChallengeStore.WHEEL_SLOTS));
+        RuntimeException expired = assertThrows(RuntimeException.class, () -> store.consume("long@example.com", "222222"));
+        assertEquals("OTP expired. Please login again.", expired.getMessage());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void keepsLongChallengesAcrossWheelTurns() {
+        InMemoryOtpChallengeStore store = new InMemoryOtpChallengeStore(5, clock);
+        store.save(challenge("long@example.com", "222222",
+                Duration.ofSeconds(InMemoryOtpChallengeStore.WHEEL_SLOTS + 30)));
+
+        // Sweep second by second past the slot's first turn; the challenge must survive it.
+        for (int i = 0; i < 40; i++) {
+            clock.advance(Duration.ofSeconds(1));
+            store.sweep();
+        }
+        assertEquals(1, store.size());
+        assertEquals("long@example.com", store.consume("long@example.com", "222222").email());
+    }
+
+    @Test
+    void comparesCodesWithoutShortCircuiting() {
+        assertTrue(OtpChallengeStore.codesMatch("123456", "123456"));
+        assertFalse(OtpChallengeStore.codesMatch("123456", "123457"));
+        assertFalse(OtpChallengeStore.codesMatch("123456", "12345"));
+        assertFalse(OtpChallengeStore.codesMatch("123456", null));
+    }
+
+    private OtpChallenge challenge(String email, String code, Duration ttl) {
+        return new OtpChallenge(email, code, clock.instant().plus(ttl), false);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
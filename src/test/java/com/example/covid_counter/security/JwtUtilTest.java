@@ -33,4 +33,18 @@ class JwtUtilTest {
         assertTrue(jwtUtil.validateToken(token, email), "Token should validate for the same email");
         assertFalse(jwtUtil.validateToken(token, "other@example.com"), "Token should fail for different email");
     }
+
+    @Test
+    void verifyReturnsEmailAndExpiryFromOneParse() {
+        String token = jwtUtil.generateToken("learner@example.com");
+
+        // verify() checks the signature once and hands back what the filter needs.
+        VerifiedToken verified = jwtUtil.verify(token);
+        assertEquals("learner@example.com", verified.email());
+        assertFalse(verified.isExpired(java.time.Instant.now()), "Fresh token should not be expired");
+
+        // A token with a tampered signature must be rejected.
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        assertThrows(Exception.class, () -> jwtUtil.verify(tampered));
+    }
 }
@@ -0,0 +1,75 @@
+package com.example.covid_counter.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHasherTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void hashesAndVerifiesOnThePool() {
+        try (PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(4), 1, 4, 5000, registry)) {
+            String hash = hasher.encode("secret");
+            assertTrue(hasher.matches("secret", hash));
+            assertFalse(hasher.matches("wrong", hash));
+
+            // Each hash is timed on the worker, tagged by operation.
+            assertEquals(1, registry.get("auth.bcrypt").tag("op", "encode").timer().count());
+            assertEquals(2, registry.get("auth.bcrypt").tag("op", "matches").timer().count());
+        }
+    }
+
+    @Test
+    void refusesWithTooManyRequestsWhenTheQueueIsFull() throws Exception {
+        // An encoder that blocks until released, so the single worker and the queue fill up.
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slow = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence raw) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash:" + raw;
+            }
+
+            @Override
+            public boolean matches(CharSequence raw, String encoded) {
+                return encoded.equals(encode(raw));
+            }
+        };
+
+        try (PasswordHasher hasher = new PasswordHasher(slow, 1, 1, 5000, registry)) {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("a"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("b"));
+            while (hasher.queued() == 0) {
+                Thread.onSpinWait();
+            }
+
+            // Worker busy, queue full: the third call is refused immediately.
+            assertThrows(TooManyRequestsException.class, () -> hasher.encode("c"));
+            assertEquals(1, registry.get("auth.bcrypt.rejected").counter().count());
+
+            release.countDown();
+            assertEquals("hash:a", running.get(5, TimeUnit.SECONDS));
+            assertEquals("hash:b", queued.get(5, TimeUnit.SECONDS));
+        }
+    }
+}
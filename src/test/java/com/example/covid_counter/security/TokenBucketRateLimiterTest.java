@@ -0,0 +1,119 @@
+package com.example.covid_counter.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void allowsBurstThenRefillsAtTheSustainedRate() {
+        // 60 per minute = one token per second, 3 back to back.
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(60, 3, 100, clock::get);
+
+        assertEquals(0, limiter.tryAcquire("1.2.3.4"));
+        assertEquals(0, limiter.tryAcquire("1.2.3.4"));
+        assertEquals(0, limiter.tryAcquire("1.2.3.4"));
+        long wait = limiter.tryAcquire("1.2.3.4");
+        assertEquals(TimeUnit.SECONDS.toNanos(1), wait, "next token in one interval");
+        assertEquals(0, limiter.tryAcquire("5.6.7.8"), "other keys have their own bucket");
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0, limiter.tryAcquire("1.2.3.4"));
+        assertTrue(limiter.tryAcquire("1.2.3.4") > 0, "only one token came back");
+    }
+
+    @Test
+    void forgetsRefilledKeysWhenFull() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(60, 1, 2, clock::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        assertEquals(2, limiter.trackedKeys());
+
+        // Once both buckets are full again they carry no information and are dropped.
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        limiter.tryAcquire("c");
+        assertEquals(1, limiter.trackedKeys());
+    }
+
+    @Test
+    void newKeysAreRefusedWhileTheMapIsFull() {
+        // 60 per minute, burst 3: a bucket needs 3 seconds to refill.
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(60, 3, 2, clock::get);
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("b"));
+
+        // Nothing has refilled, so the sweep frees nothing and the new key gets a wait time.
+        long wait = limiter.tryAcquire("c");
+        assertEquals(TimeUnit.SECONDS.toNanos(3), wait, "until the next sweep");
+        assertEquals(2, limiter.trackedKeys());
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertTrue(limiter.tryAcquire("d") > 0, "still refused before the sweep is due");
+
+        // After the wait, the refilled buckets are dropped and the new key gets its own bucket.
+        clock.addAndGet(wait);
+        assertEquals(0, limiter.tryAcquire("c"));
+        assertEquals(0, limiter.tryAcquire("c"));
+        assertEquals(0, limiter.tryAcquire("c"));
+        assertTrue(limiter.tryAcquire("c") > 0, "and is limited like any other");
+    }
+
+    @Test
+    void floodOfDistinctKeysNeverGrowsPastMaxKeys() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(60, 1, 1000, clock::get);
+        assertEquals(0, limiter.tryAcquire("victim@example.com"));
+
+        // 8 threads, 50,000 distinct keys each, all while no bucket has refilled.
+        try (ExecutorService pool = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 50_000; i++) {
+                        limiter.tryAcquire("attacker-" + thread + "-" + i + "@example.com");
+                        assertTrue(limiter.trackedKeys() <= 1000);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        }
+        assertEquals(1000, limiter.trackedKeys());
+
+        // Keys tracked before the flood are still limited; keys past the cap are refused.
+        assertTrue(limiter.tryAcquire("victim@example.com") > 0);
+        assertTrue(limiter.tryAcquire("late@example.com") > 0);
+
+        // Once the buckets have refilled, the sweep makes room again.
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        limiter.tryAcquire("late@example.com");
+        assertEquals(1, limiter.trackedKeys());
+    }
+
+    @Test
+    void authLimiterChecksIpAndEmailSeparately() {
+        AuthRateLimiter limiter = new AuthRateLimiter(100, 5, 60, 1, 100);
+
+        limiter.check("1.1.1.1", "Someone@Example.com");
+        // Same account from another address: the email bucket (burst 1) is already empty.
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class,
+                () -> limiter.check("2.2.2.2", "someone@example.com "));
+        assertEquals(429, e.getStatusCode().value());
+        assertEquals("1", e.getHeaders().getFirst("Retry-After"));
+
+        limiter.check("2.2.2.2", "other@example.com");
+    }
+}
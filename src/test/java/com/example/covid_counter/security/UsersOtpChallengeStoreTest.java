@@ -0,0 +1,161 @@
+package com.example.covid_counter.security;
+
+import com.example.covid_counter.model.UsersModel;
+import com.example.covid_counter.repo.UsersRepo;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the database-backed store against an in-memory H2 database with a real connection pool,
+ * so concurrent verifies really race on the same users row.
+ */
+class UsersOtpChallengeStoreTest {
+
+    private static final String EMAIL = "race@example.com";
+    private static final int THREADS = 16;
+
+    private AnnotationConfigApplicationContext context;
+    private UsersOtpChallengeStore store;
+
+    @BeforeEach
+    void startContext() {
+        context = new AnnotationConfigApplicationContext(TestConfig.class);
+        store = context.getBean(UsersOtpChallengeStore.class);
+
+        UsersModel user = new UsersModel();
+        user.setName("Race");
+        user.setEmail(EMAIL);
+        user.setPasswordHash("hash");
+        user.setCreatedAt(LocalDateTime.now());
+        context.getBean(UsersRepo.class).save(user);
+        store.save(new OtpChallenge(EMAIL, "123456", Instant.now().plusSeconds(300), false));
+    }
+
+    @AfterEach
+    void closeContext() {
+        context.close();
+    }
+
+    @Test
+    void onlyOneOfManyConcurrentCorrectVerifiesSucceeds() throws Exception {
+        Map<String, AtomicInteger> outcomes = race(i -> "123456");
+
+        assertEquals(1, count(outcomes, "ok"));
+        assertEquals(THREADS - 1, count(outcomes, "No OTP pending. Please login again."));
+    }
+
+    @Test
+    void concurrentWrongGuessesAllCountTowardsTheLimit() throws Exception {
+        // max-attempts is 5: four "Invalid", the fifth drops the challenge, the rest find nothing.
+        Map<String, AtomicInteger> outcomes = race(i -> String.format("%06d", i));
+
+        assertEquals(4, count(outcomes, "Invalid OTP code."));
+        assertEquals(1, count(outcomes, "Too many attempts. Please login again."));
+        assertEquals(THREADS - 5, count(outcomes, "No OTP pending. Please login again."));
+    }
+
+    // Starts THREADS verifies at the same moment and tallies their outcomes by message.
+    private Map<String, AtomicInteger> race(IntFunction<String> codeOf) throws Exception {
+        Map<String, AtomicInteger> outcomes = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService pool = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                String code = codeOf.apply(i);
+                Callable<Void> verify = () -> {
+                    start.await();
+                    String outcome;
+                    try {
+                        store.consume(EMAIL, code);
+                        outcome = "ok";
+                    } catch (RuntimeException e) {
+                        outcome = e.getMessage();
+                    }
+                    outcomes.computeIfAbsent(outcome, k -> new AtomicInteger()).incrementAndGet();
+                    return null;
+                };
+                futures.add(pool.submit(verify));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        }
+        return outcomes;
+    }
+
+    private static int count(Map<String, AtomicInteger> outcomes, String outcome) {
+        AtomicInteger n = outcomes.get(outcome);
+        return n == null ? 0 : n.get();
+    }
+
+    @Configuration
+    // Class proxies, as in the app (Spring Boot default).
+    @EnableTransactionManagement(proxyTargetClass = true)
+    @EnableJpaRepositories(basePackageClasses = UsersRepo.class,
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = UsersRepo.class))
+    static class TestConfig {
+
+        @Bean(destroyMethod = "close")
+        DataSource dataSource() {
+            HikariDataSource dataSource = new HikariDataSource();
+            // A fresh database per context; row locks wait up to 10 s instead of H2's default 1 s.
+            dataSource.setJdbcUrl("jdbc:h2:mem:otp-" + System.nanoTime() + ";LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1");
+            dataSource.setMaximumPoolSize(THREADS);
+            return dataSource;
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setManagedTypes(PersistenceManagedTypes.of(UsersModel.class.getName()));
+            factory.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create-drop"));
+            return factory;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(EntityManagerFactory emf) {
+            return new JpaTransactionManager(emf);
+        }
+
+        @Bean
+        UsersOtpChallengeStore usersOtpChallengeStore(UsersRepo usersRepo) {
+            return new UsersOtpChallengeStore(usersRepo, 5);
+        }
+    }
+}
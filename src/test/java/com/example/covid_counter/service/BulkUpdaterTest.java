@@ -0,0 +1,98 @@
+package com.example.covid_counter.service;
+
+import com.example.covid_counter.event.RowChangedEvent;
+import com.example.covid_counter.event.Tables;
+import com.example.covid_counter.model.BulkUpdateReport;
+import com.example.covid_counter.model.CountryWiseLatest;
+import com.example.covid_counter.repo.CountryWiseLatestRepo;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+class BulkUpdaterTest {
+
+    private final CountryWiseLatestRepo repo = mock(CountryWiseLatestRepo.class);
+    private final ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+    private final BulkUpdater bulk = new BulkUpdater(events, JsonMapper.builder().build(), 100);
+
+    @Test
+    void appliesOnlyNonNullFieldsAndReportsMissingRows() {
+        CountryWiseLatest india = row("India", 100L, 10L);
+        CountryWiseLatest chad = row("Chad", 5L, 1L);
+        when(repo.findAllById(anyIterable())).thenReturn(List.of(india, chad));
+
+        // "india" in lower case still matches; only deaths is sent, so confirmed must stay.
+        CountryWiseLatest patchIndia = new CountryWiseLatest();
+        patchIndia.setCountryRegion("india");
+        patchIndia.setDeaths(12L);
+        // Chad is sent with the values it already has, so nothing changes.
+        CountryWiseLatest patchChad = row("Chad", 5L, 1L);
+        CountryWiseLatest patchNowhere = row("Nowhere", 1L, 1L);
+
+        BulkUpdateReport report = bulk.apply(Tables.COUNTRY_WISE_LATEST, repo,
+                List.of(patchIndia, patchChad, patchNowhere), CountryWiseLatest::getCountryRegion);
+
+        assertEquals(3, report.getReceived());
+        assertEquals(1, report.getUpdated());
+        assertEquals(1, report.getUnchanged());
+        assertEquals(List.of("Nowhere"), report.getMissing());
+
+        assertEquals("India", india.getCountryRegion(), "The id is never patched");
+        assertEquals(100L, india.getConfirmed());
+        assertEquals(12L, india.getDeaths());
+
+        // Exactly one change event, for India, carrying old and new values.
+        ArgumentCaptor<RowChangedEvent> captor = ArgumentCaptor.forClass(RowChangedEvent.class);
+        verify(events, times(1)).publishEvent(captor.capture());
+        assertEquals("India", captor.getValue().key());
+        assertEquals(10L, ((CountryWiseLatest) captor.getValue().before()).getDeaths());
+        assertEquals(12L, ((CountryWiseLatest) captor.getValue().after()).getDeaths());
+    }
+
+    @Test
+    void rejectsRowsWithoutId() {
+        CountryWiseLatest noId = new CountryWiseLatest();
+        noId.setDeaths(1L);
+
+        assertThrows(IllegalArgumentException.class, () -> bulk.apply(Tables.COUNTRY_WISE_LATEST, repo,
+                List.of(noId), CountryWiseLatest::getCountryRegion));
+        verifyNoInteractions(repo, events);
+    }
+
+    @Test
+    void readsNdjsonOneObjectPerLine() {
+        String body = "{\"countryRegion\":\"India\",\"deaths\":12}\n"
+                + "\n"
+                + "{\"countryRegion\":\"Chad\",\"confirmed\":6}\n";
+
+        List<CountryWiseLatest> rows = bulk.readNdjson(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), CountryWiseLatest.class);
+
+        assertEquals(2, rows.size());
+        assertEquals(12L, rows.get(0).getDeaths());
+        assertNull(rows.get(0).getConfirmed());
+        assertEquals("Chad", rows.get(1).getCountryRegion());
+
+        assertThrows(IllegalArgumentException.class, () -> bulk.readNdjson(
+                new ByteArrayInputStream("{\"deaths\": }".getBytes(StandardCharsets.UTF_8)), CountryWiseLatest.class));
+    }
+
+    private static CountryWiseLatest row(String country, Long confirmed, Long deaths) {
+        CountryWiseLatest c = new CountryWiseLatest();
+        c.setCountryRegion(country);
+        c.setConfirmed(confirmed);
+        c.setDeaths(deaths);
+        return c;
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.covid_counter.service;
+
+import com.example.covid_counter.event.RowChangedEvent;
+import com.example.covid_counter.event.TableReloadedEvent;
+import com.example.covid_counter.event.Tables;
+import com.example.covid_counter.model.ChangeEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ChangeFeedServiceTest {
+
+    private static final String RESYNC = "resync";
+
+    private ChangeFeedService feed;
+
+    @AfterEach
+    void closeFeed() {
+        feed.destroy();
+    }
+
+    @Test
+    void subscribersAreLimitedAndRemovedWhenTheyGoAway() {
+        feed = new RecordingFeed(4, 2, 16);
+        feed.subscribe(null, null);
+        feed.subscribe(Set.of(Tables.WORLDOMETER), null);
+
+        // The third client is turned away instead of piling up threads.
+        assertThrows(IllegalStateException.class, () -> feed.subscribe(null, null));
+
+        // Publishing never blocks, even with more events than any buffer holds.
+        for (int i = 0; i < 100; i++) {
+            update(Tables.COUNTRY_WISE_LATEST);
+        }
+        feed.onTableReloaded(new TableReloadedEvent(Tables.WORLDOMETER));
+
+        feed.destroy();
+        assertEquals(0, feed.subscriberCount());
+    }
+
+    @Test
+    void subscribersOnlyGetTheirTables() throws Exception {
+        feed = new RecordingFeed(4, 10, 16);
+        RecordingEmitter worldometer = subscribe(Set.of(Tables.WORLDOMETER), null);
+        RecordingEmitter all = subscribe(null, null);
+
+        update(Tables.COUNTRY_WISE_LATEST);
+        feed.onTableReloaded(new TableReloadedEvent(Tables.WORLDOMETER));
+
+        assertEquals(List.of("2 worldometer_data reload"), worldometer.next(1));
+        assertEquals(List.of("1 country_wise_latest update", "2 worldometer_data reload"), all.next(2));
+        worldometer.assertNothingMore();
+    }
+
+    @Test
+    void reconnectReplaysWhatWasMissedThenContinuesLive() throws Exception {
+        feed = new RecordingFeed(16, 10, 16);
+        update(Tables.COUNTRY_WISE_LATEST);
+        update(Tables.COUNTRY_WISE_LATEST);
+        update(Tables.COUNTRY_WISE_LATEST);
+
+        // The client saw event 1: it gets 2 and 3 from history, then 4 live, each once.
+        RecordingEmitter client = subscribe(null, 1L);
+        update(Tables.COUNTRY_WISE_LATEST);
+
+        assertEquals(List.of("2 country_wise_latest update", "3 country_wise_latest update",
+                "4 country_wise_latest update"), client.next(3));
+        client.assertNothingMore();
+    }
+
+    @Test
+    void reconnectPastTheHistoryGetsOneResync() throws Exception {
+        feed = new RecordingFeed(16, 10, 2);
+        for (int i = 0; i < 5; i++) {
+            update(Tables.COUNTRY_WISE_LATEST);
+        }
+
+        // Only 4 and 5 are kept, so 2 and 3 are lost to a client that saw 1.
+        RecordingEmitter client = subscribe(null, 1L);
+        assertEquals(List.of(RESYNC), client.next(1));
+
+        // The refetch that follows covers everything up to the resync; later events arrive live.
+        update(Tables.COUNTRY_WISE_LATEST);
+        assertEquals(List.of("6 country_wise_latest update"), client.next(1));
+        client.assertNothingMore();
+    }
+
+    @Test
+    void idFromBeforeARestartGetsOneResync() throws Exception {
+        feed = new RecordingFeed(16, 10, 16);
+        update(Tables.COUNTRY_WISE_LATEST);
+
+        // The client saw id 99 from the previous run; this run has only reached 1.
+        RecordingEmitter client = subscribe(null, 99L);
+        assertEquals(List.of(RESYNC), client.next(1));
+
+        update(Tables.COUNTRY_WISE_LATEST);
+        assertEquals(List.of("2 country_wise_latest update"), client.next(1));
+        client.assertNothingMore();
+    }
+
+    @Test
+    void slowSubscriberLosesItsBacklogForOneResync() throws Exception {
+        feed = new RecordingFeed(4, 10, 16);
+        RecordingEmitter client = subscribe(null, null);
+        client.permits.drainPermits();
+
+        // The drain thread holds event 1 in a blocked send; 4 more fill the queue, the rest overflow.
+        update(Tables.COUNTRY_WISE_LATEST);
+        while (!client.permits.hasQueuedThreads()) {
+            Thread.onSpinWait();
+        }
+        for (int i = 0; i < 7; i++) {
+            update(Tables.COUNTRY_WISE_LATEST);
+        }
+        client.permits.release(Integer.MAX_VALUE / 2);
+        assertEquals(List.of("1 country_wise_latest update", RESYNC), client.next(2));
+
+        update(Tables.COUNTRY_WISE_LATEST);
+        assertEquals(List.of("9 country_wise_latest update"), client.next(1));
+        client.assertNothingMore();
+    }
+
+    private RecordingEmitter subscribe(Set<String> tables, Long lastEventId) {
+        return (RecordingEmitter) feed.subscribe(tables, lastEventId);
+    }
+
+    private void update(String table) {
+        feed.onRowChanged(new RowChangedEvent(table, "India", null, null));
+    }
+
+    private static final class RecordingFeed extends ChangeFeedService {
+
+        RecordingFeed(int bufferSize, int maxSubscribers, int replaySize) {
+            super(bufferSize, maxSubscribers, replaySize);
+        }
+
+        @Override
+        SseEmitter newEmitter() {
+            return new RecordingEmitter();
+        }
+    }
+
+    // Records each event as "<id> <table> <type>", or "resync"; heartbeats are skipped.
+    private static final class RecordingEmitter extends SseEmitter {
+
+        final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        // Each send takes a permit, so a test can stall the subscriber's thread.
+        final Semaphore permits = new Semaphore(Integer.MAX_VALUE / 2);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            permits.acquireUninterruptibly();
+            StringBuilder text = new StringBuilder();
+            for (DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof ChangeEvent change) {
+                    sent.add(change.getId() + " " + change.getTable() + " " + change.getType());
+                } else {
+                    text.append(part.getData());
+                }
+            }
+            if (text.toString().contains("event:" + RESYNC)) {
+                sent.add(RESYNC);
+            }
+        }
+
+        List<String> next(int count) throws InterruptedException {
+            List<String> events = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                String event = sent.poll(5, TimeUnit.SECONDS);
+                assertNotNull(event, "only got " + events);
+                events.add(event);
+            }
+            return events;
+        }
+
+        void assertNothingMore() throws InterruptedException {
+            assertNull(sent.poll(100, TimeUnit.MILLISECONDS));
+        }
+    }
+}
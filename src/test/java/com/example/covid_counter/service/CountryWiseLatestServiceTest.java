@@ -1,5 +1,7 @@
 package com.example.covid_counter.service;
 
+import com.example.covid_counter.cache.CountryWiseLatestCache;
+import com.example.covid_counter.event.RowChangedEvent;
 import com.example.covid_counter.model.CountryWiseLatest;
 import com.example.covid_counter.repo.CountryWiseLatestRepo;
 import org.junit.jupiter.api.Test;
@@ -8,6 +10,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 
@@ -20,6 +23,12 @@ class CountryWiseLatestServiceTest {
     @Mock
     CountryWiseLatestRepo repo; // fake repo so we don't hit the DB
 
+    @Mock
+    CountryWiseLatestCache cache; // reads come from here; updates must bypass it
+
+    @Mock
+    ApplicationEventPublisher events; // receives the change event after a save
+
     @InjectMocks
     CountryWiseLatestService service; // class under test, gets mock injected
 
@@ -47,5 +56,8 @@ class CountryWiseLatestServiceTest {
         ArgumentCaptor<CountryWiseLatest> captor = ArgumentCaptor.forClass(CountryWiseLatest.class);
         verify(repo).save(captor.capture());
         assertEquals(70L, captor.getValue().getRecovered());
+
+        // And the cache should be told about the change (it applies it after commit)
+        verify(events).publishEvent(any(RowChangedEvent.class));
     }
 }
@@ -0,0 +1,92 @@
+package com.example.covid_counter.service;
+
+import com.example.covid_counter.event.Tables;
+import com.example.covid_counter.model.CountryWiseLatest;
+import com.example.covid_counter.repo.CountryWiseLatestRepo;
+import com.example.covid_counter.repo.CovidDataSimpleRepo;
+import com.example.covid_counter.repo.DayWiseRepo;
+import com.example.covid_counter.repo.FullGroupedRepo;
+import com.example.covid_counter.repo.WorldometerDataRepo;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ExportServiceTest {
+
+    private final CountryWiseLatestRepo countries = mock(CountryWiseLatestRepo.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    // The mocked transaction manager just lets the callback run.
+    private final ExportService exportService = new ExportService(countries, mock(WorldometerDataRepo.class),
+            mock(DayWiseRepo.class), mock(CovidDataSimpleRepo.class), mock(FullGroupedRepo.class),
+            entityManager, JsonMapper.builder().build(), mock(DataSource.class),
+            mock(PlatformTransactionManager.class));
+
+    @Test
+    void csvQuotesWhereNeededAndDetachesEveryRow() {
+        when(countries.streamAll()).thenReturn(Stream.of(
+                row("India", 100L, "South-East Asia"),
+                row("Korea, South", 5L, null)));
+
+        String csv = export(ExportService.Format.CSV);
+
+        String[] lines = csv.split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("countryRegion,confirmed,deaths,"), lines[0]);
+        assertTrue(lines[1].startsWith("India,100,,"), lines[1]);
+        assertTrue(lines[1].endsWith(",South-East Asia"), lines[1]);
+        // The comma in the name forces quotes; the missing region is an empty last field.
+        assertTrue(lines[2].startsWith("\"Korea, South\",5,"), lines[2]);
+        assertTrue(lines[2].endsWith(","), lines[2]);
+
+        verify(entityManager, times(2)).detach(any());
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() {
+        when(countries.streamAll()).thenReturn(Stream.of(
+                row("India", 100L, "South-East Asia"),
+                row("Chad", 5L, "Africa")));
+
+        String ndjson = export(ExportService.Format.NDJSON);
+
+        String[] lines = ndjson.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"countryRegion\":\"India\",\"confirmed\":100,"), lines[0]);
+        assertTrue(lines[1].contains("\"deathsPer100Cases\":1.5"), lines[1]);
+    }
+
+    @Test
+    void unknownTableOrFormatIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> exportService.export("users", ExportService.Format.CSV, new ByteArrayOutputStream()));
+        assertThrows(IllegalArgumentException.class, () -> ExportService.Format.fromParam("xml"));
+    }
+
+    private String export(ExportService.Format format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(Tables.COUNTRY_WISE_LATEST, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static CountryWiseLatest row(String country, Long confirmed, String whoRegion) {
+        CountryWiseLatest c = new CountryWiseLatest();
+        c.setCountryRegion(country);
+        c.setConfirmed(confirmed);
+        c.setDeathsPer100Cases(new BigDecimal("1.5"));
+        c.setWhoRegion(whoRegion);
+        return c;
+    }
+}
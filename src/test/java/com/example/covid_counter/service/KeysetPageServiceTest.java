@@ -0,0 +1,152 @@
+package com.example.covid_counter.service;
+
+import com.example.covid_counter.model.CountryWiseLatest;
+import com.example.covid_counter.model.CovidDataSimple;
+import com.example.covid_counter.model.DayWise;
+import com.example.covid_counter.model.KeysetPage;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pages through real rows in an in-memory H2 database, one entity per id type (String, Long, LocalDate).
+ */
+class KeysetPageServiceTest {
+
+    private HikariDataSource dataSource;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private KeysetPageService pages;
+
+    @BeforeEach
+    void createDatabase() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:keyset-" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setManagedTypes(PersistenceManagedTypes.of(CountryWiseLatest.class.getName(),
+                CovidDataSimple.class.getName(), DayWise.class.getName()));
+        // Quoted like the app does, since column names such as "Total Cases" contain spaces.
+        factory.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create-drop",
+                "hibernate.globally_quoted_identifiers", "true"));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+        entityManager = entityManagerFactory.createEntityManager();
+        pages = new KeysetPageService(entityManager);
+
+        inTransaction(em -> {
+            for (String name : List.of("Egypt", "Albania", "Chile", "Brazil", "Denmark")) {
+                CountryWiseLatest country = new CountryWiseLatest();
+                country.setCountryRegion(name);
+                country.setConfirmed((long) name.length());
+                em.persist(country);
+            }
+            // 600 records: enough to see the page size capped at 500.
+            for (long id = 1; id <= 600; id++) {
+                CovidDataSimple record = new CovidDataSimple();
+                record.setRecordId(id);
+                em.persist(record);
+            }
+            for (int day = 0; day < 4; day++) {
+                DayWise row = new DayWise();
+                row.setDate(LocalDate.of(2020, 1, 22).plusDays(day));
+                em.persist(row);
+            }
+        });
+    }
+
+    @AfterEach
+    void closeDatabase() {
+        entityManager.close();
+        entityManagerFactory.close();
+        dataSource.close();
+    }
+
+    @Test
+    void pagesFollowOnWithoutGapsUntilTheLastOne() {
+        KeysetPage first = pages.fetch(CountryWiseLatest.class, null, 2, "confirmed");
+        assertEquals(List.of(Map.of("countryRegion", "Albania", "confirmed", 7L),
+                Map.of("countryRegion", "Brazil", "confirmed", 6L)), first.getItems());
+        assertEquals(List.of("countryRegion", "confirmed"), List.copyOf(first.getItems().get(0).keySet()));
+        assertEquals("Brazil", first.getNextAfter());
+        assertTrue(first.isHasMore());
+
+        KeysetPage second = pages.fetch(CountryWiseLatest.class, "Brazil", 2, "confirmed");
+        assertEquals(List.of("Chile", "Denmark"), ids(second, "countryRegion"));
+        assertTrue(second.isHasMore());
+
+        // Exactly one row left: the extra row asked for is missing, so this is the last page.
+        KeysetPage last = pages.fetch(CountryWiseLatest.class, "Denmark", 2, "confirmed");
+        assertEquals(List.of("Egypt"), ids(last, "countryRegion"));
+        assertFalse(last.isHasMore());
+        assertNull(last.getNextAfter());
+
+        // Exactly a page left is also the last page.
+        assertFalse(pages.fetch(CountryWiseLatest.class, "Chile", 2, null).isHasMore());
+    }
+
+    @Test
+    void cursorsAreParsedAsTheIdType() {
+        // Numeric, not string, order: 10 comes after 9.
+        assertEquals(List.of(9L, 10L), ids(pages.fetch(CovidDataSimple.class, "8", 2, "recordId"), "recordId"));
+        assertEquals(List.of(LocalDate.of(2020, 1, 24), LocalDate.of(2020, 1, 25)),
+                ids(pages.fetch(DayWise.class, "2020-01-23", 5, "date"), "date"));
+
+        IllegalArgumentException notANumber = assertThrows(IllegalArgumentException.class,
+                () -> pages.fetch(CovidDataSimple.class, "abc", 2, null));
+        assertEquals("Invalid cursor: abc", notANumber.getMessage());
+        IllegalArgumentException notADate = assertThrows(IllegalArgumentException.class,
+                () -> pages.fetch(DayWise.class, "22/01/2020", 2, null));
+        assertEquals("Invalid cursor: 22/01/2020", notADate.getMessage());
+    }
+
+    @Test
+    void limitIsClampedBetweenOneAndTheMaximum() {
+        assertEquals(KeysetPageService.DEFAULT_LIMIT,
+                pages.fetch(CovidDataSimple.class, null, null, null).getItems().size());
+        assertEquals(1, pages.fetch(CovidDataSimple.class, null, 0, null).getItems().size());
+        assertEquals(1, pages.fetch(CovidDataSimple.class, null, -5, null).getItems().size());
+
+        KeysetPage capped = pages.fetch(CovidDataSimple.class, null, 10_000, null);
+        assertEquals(KeysetPageService.MAX_LIMIT, capped.getItems().size());
+        assertEquals(500L, capped.getNextAfter());
+        assertTrue(capped.isHasMore());
+    }
+
+    @Test
+    void unknownFieldsAreRejected() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> pages.fetch(CountryWiseLatest.class, null, 2, "confirmed, password"));
+        assertEquals("Unknown field: password", e.getMessage());
+    }
+
+    private static List<Object> ids(KeysetPage page, String idName) {
+        return page.getItems().stream().map(item -> item.get(idName)).toList();
+    }
+
+    private void inTransaction(Consumer<EntityManager> work) {
+        entityManager.getTransaction().begin();
+        work.accept(entityManager);
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.covid_counter.service;
+
+import com.example.covid_counter.event.TableReloadedEvent;
+import com.example.covid_counter.event.Tables;
+import com.example.covid_counter.model.RecomputeReport;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Runs the recompute UPDATE on an in-memory H2 database in MySQL mode and checks the values it writes.
+ */
+class RecomputeServiceTest {
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private final List<Object> events = new ArrayList<>();
+    private RecomputeService service;
+
+    @BeforeEach
+    void createTable() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:recompute-" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new MySqlOnH2JdbcTemplate(dataSource);
+        service = new RecomputeService(jdbcTemplate, new DataSourceTransactionManager(dataSource), events::add);
+
+        jdbcTemplate.execute("CREATE TABLE `country_wise_latest` ("
+                + "`Country/Region` VARCHAR(64) PRIMARY KEY, `Confirmed` BIGINT, `Deaths` BIGINT,"
+                + " `Recovered` BIGINT, `Active` BIGINT, `Deaths / 100 Cases` DECIMAL(38, 2),"
+                + " `Recovered / 100 Cases` DECIMAL(38, 2), `Deaths / 100 Recovered` DECIMAL(38, 2),"
+                + " `Confirmed last week` BIGINT, `1 week change` BIGINT, `1 week % increase` DECIMAL(38, 2))");
+        // country, confirmed, deaths, recovered, active, confirmed last week, 1 week change
+        insert("Typical", 1000L, 25L, null, 300L, 900L, 100L);
+        insert("MoreDeadAndActiveThanCases", 10L, 5L, 99L, 8L, 0L, 0L);
+        insert("NoCases", 0L, 0L, 7L, 0L, null, null);
+        insert("Rounding", 3L, 2L, null, 0L, 6L, 1L);
+        // Already right, NULL ratios included: the NULL-safe guard must leave it alone.
+        insert("Settled", 0L, 0L, 0L, 0L, 0L, 0L);
+    }
+
+    @AfterEach
+    void closeDataSource() {
+        dataSource.close();
+    }
+
+    @Test
+    void writesRecoveredAndTheRoundedRatios() {
+        RecomputeReport report = service.recomputeCountryWiseLatest();
+
+        assertEquals(4, report.getRowsChanged(), "Settled already holds the right values");
+        assertRow("Typical", 675, "2.50", "67.50", "3.70", "11.11");
+        // Recovered is clamped at 0, so the ratio over it has no divisor.
+        assertRow("MoreDeadAndActiveThanCases", 0, "50.00", "0.00", null, null);
+        assertRow("NoCases", 0, null, null, null, null);
+        // 200 / 3 = 66.666..., 100 / 3 = 33.333..., 100 / 6 = 16.666...
+        assertRow("Rounding", 1, "66.67", "33.33", "200.00", "16.67");
+        assertRow("Settled", 0, null, null, null, null);
+        assertEquals(List.of(new TableReloadedEvent(Tables.COUNTRY_WISE_LATEST)), events);
+    }
+
+    @Test
+    void countsOnlyRowsWhoseValuesChange() {
+        service.recomputeCountryWiseLatest();
+        events.clear();
+
+        assertEquals(0, service.recomputeCountryWiseLatest().getRowsChanged());
+        assertEquals(List.of(), events, "no reload when nothing changed");
+
+        jdbcTemplate.update("UPDATE `country_wise_latest` SET `Active` = 200 WHERE `Country/Region` = 'Typical'");
+        assertEquals(1, service.recomputeInCurrentTransaction());
+        assertRow("Typical", 775, "2.50", "77.50", "3.23", "11.11");
+    }
+
+    private void insert(String country, Long confirmed, Long deaths, Long recovered, Long active,
+                        Long confirmedLastWeek, Long oneWeekChange) {
+        jdbcTemplate.update("INSERT INTO `country_wise_latest` (`Country/Region`, `Confirmed`, `Deaths`,"
+                        + " `Recovered`, `Active`, `Confirmed last week`, `1 week change`) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                country, confirmed, deaths, recovered, active, confirmedLastWeek, oneWeekChange);
+    }
+
+    private void assertRow(String country, long recovered, String deathsPer100Cases, String recoveredPer100Cases,
+                           String deathsPer100Recovered, String oneWeekPercentIncrease) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT * FROM `country_wise_latest` WHERE `Country/Region` = ?", country);
+        assertEquals(recovered, ((Number) row.get("Recovered")).longValue(), country);
+        assertDecimal(deathsPer100Cases, row.get("Deaths / 100 Cases"), country);
+        assertDecimal(recoveredPer100Cases, row.get("Recovered / 100 Cases"), country);
+        assertDecimal(deathsPer100Recovered, row.get("Deaths / 100 Recovered"), country);
+        assertDecimal(oneWeekPercentIncrease, row.get("1 week % increase"), country);
+    }
+
+    private static void assertDecimal(String expected, Object actual, String country) {
+        if (expected == null) {
+            assertNull(actual, country);
+        } else {
+            assertEquals(new BigDecimal(expected), actual, country);
+        }
+    }
+
+    // H2 has no <=>; IS NOT DISTINCT FROM is the standard spelling of the same NULL-safe equals.
+    private static final class MySqlOnH2JdbcTemplate extends JdbcTemplate {
+        MySqlOnH2JdbcTemplate(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public int update(String sql) {
+            return super.update(sql.replace(" <=> ", " IS NOT DISTINCT FROM "));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.covid_counter.service;
+
+import com.example.covid_counter.model.SeriesField;
+import com.example.covid_counter.repo.FullGroupedRepo;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Writes series from an in-memory H2 full_grouped table and checks the JSON document.
+ */
+class SeriesServiceTest {
+
+    private HikariDataSource dataSource;
+    private SeriesService service;
+
+    @BeforeEach
+    void createTable() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:series-" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        service = new SeriesService(mock(FullGroupedRepo.class), dataSource, JsonMapper.builder().build());
+        // H2 rejects MySQL's streaming fetch size (Integer.MIN_VALUE); any normal one reads the same rows.
+        ((JdbcTemplate) ReflectionTestUtils.getField(service, "streamingJdbc")).setFetchSize(0);
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE `full_grouped` (`Country/Region` VARCHAR(64), `Date` DATE,"
+                + " `Confirmed` BIGINT, `Deaths` BIGINT, `Recovered` BIGINT, `Active` BIGINT,"
+                + " `New cases` BIGINT, `New deaths` BIGINT, `New recovered` BIGINT, `WHO Region` VARCHAR(32),"
+                + " PRIMARY KEY (`Country/Region`, `Date`))");
+        // Inserted out of order: the series must come back sorted by date.
+        String insert = "INSERT INTO `full_grouped` (`Country/Region`, `Date`, `Confirmed`, `New cases`)"
+                + " VALUES (?, ?, ?, ?)";
+        jdbc.update(insert, "India", LocalDate.of(2020, 3, 3), 5L, 2L);
+        jdbc.update(insert, "India", LocalDate.of(2020, 3, 1), 1L, 1L);
+        jdbc.update(insert, "India", LocalDate.of(2020, 3, 2), 3L, null);
+        jdbc.update(insert, "Italy", LocalDate.of(2020, 3, 2), 2000L, 500L);
+    }
+
+    @AfterEach
+    void closeDataSource() {
+        dataSource.close();
+    }
+
+    @Test
+    void writesTheRequestedFieldsInDateOrder() {
+        String json = write("India", null, null, List.of(SeriesField.CONFIRMED, SeriesField.NEW_CASES));
+
+        // A NULL column stays null instead of becoming 0.
+        assertEquals("{\"country\":\"India\",\"fields\":[\"date\",\"confirmed\",\"newCases\"],\"points\":["
+                + "{\"date\":\"2020-03-01\",\"confirmed\":1,\"newCases\":1},"
+                + "{\"date\":\"2020-03-02\",\"confirmed\":3,\"newCases\":null},"
+                + "{\"date\":\"2020-03-03\",\"confirmed\":5,\"newCases\":2}]}", json);
+    }
+
+    @Test
+    void fromAndToAreInclusiveAndEachOptional() {
+        List<SeriesField> confirmed = List.of(SeriesField.CONFIRMED);
+        String prefix = "{\"country\":\"India\",\"fields\":[\"date\",\"confirmed\"],\"points\":[";
+
+        assertEquals(prefix + "{\"date\":\"2020-03-02\",\"confirmed\":3}]}",
+                write("India", LocalDate.of(2020, 3, 2), LocalDate.of(2020, 3, 2), confirmed));
+        assertEquals(prefix + "{\"date\":\"2020-03-02\",\"confirmed\":3},{\"date\":\"2020-03-03\",\"confirmed\":5}]}",
+                write("India", LocalDate.of(2020, 3, 2), null, confirmed));
+        assertEquals(prefix + "{\"date\":\"2020-03-01\",\"confirmed\":1}]}",
+                write("India", null, LocalDate.of(2020, 3, 1), confirmed));
+        assertEquals(prefix + "]}", write("India", LocalDate.of(2021, 1, 1), null, confirmed));
+    }
+
+    private String write(String country, LocalDate from, LocalDate to, List<SeriesField> fields) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.writeSeries(country, from, to, fields, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
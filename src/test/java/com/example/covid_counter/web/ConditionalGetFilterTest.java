@@ -0,0 +1,115 @@
+package com.example.covid_counter.web;
+
+import com.example.covid_counter.event.TableVersions;
+import com.example.covid_counter.event.Tables;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class ConditionalGetFilterTest {
+
+    private final TableVersions versions = new TableVersions();
+    private final ConditionalGetFilter filter = new ConditionalGetFilter(versions, 16, 1 << 20);
+
+    // Stands in for the controller; counts how often it really runs.
+    private int controllerCalls;
+    private final String json = "[" + "{\"countryRegion\":\"India\",\"confirmed\":1},".repeat(100) + "{}]";
+
+    private final HttpServlet controller = new HttpServlet() {
+        @Override
+        protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+            controllerCalls++;
+            resp.setContentType("application/json");
+            resp.getWriter().write(json);
+        }
+    };
+
+    @Test
+    void unchangedTableAnswers304WithoutRunningTheController() throws Exception {
+        MockHttpServletResponse first = get(null, false);
+        assertEquals(200, first.getStatus());
+        assertEquals(json, first.getContentAsString());
+        String etag = first.getHeader("ETag");
+        assertNotNull(etag);
+
+        MockHttpServletResponse second = get(etag, false);
+        assertEquals(304, second.getStatus());
+        assertEquals(1, controllerCalls);
+
+        // A change to the table moves the ETag on, so the old one no longer matches.
+        versions.bump(Tables.COUNTRY_WISE_LATEST);
+        MockHttpServletResponse third = get(etag, false);
+        assertEquals(200, third.getStatus());
+        assertNotEquals(etag, third.getHeader("ETag"));
+        assertEquals(2, controllerCalls);
+    }
+
+    @Test
+    void gzipBodyIsCompressedOnceAndServedFromCache() throws Exception {
+        MockHttpServletResponse first = get(null, true);
+        MockHttpServletResponse second = get(null, true);
+
+        assertEquals(1, controllerCalls, "Second request is served from the cached body");
+        assertEquals("gzip", second.getHeader("Content-Encoding"));
+        assertArrayEquals(first.getContentAsByteArray(), second.getContentAsByteArray());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(second.getContentAsByteArray()))) {
+            assertEquals(json, new String(in.readAllBytes()));
+        }
+
+        // The gzip variant has its own ETag, which still counts as a match for 304.
+        assertEquals(304, get(second.getHeader("ETag"), true).getStatus());
+    }
+
+    @Test
+    void keepsTheVaryValuesSetByEarlierFilters() throws Exception {
+        // The CORS filter runs first and adds Vary: Origin; losing it would let a shared cache
+        // serve one origin's Access-Control-Allow-Origin to another.
+        MockHttpServletResponse miss = get(null, true, corsResponse());
+        MockHttpServletResponse cached = get(null, true, corsResponse());
+        MockHttpServletResponse notModified = get(miss.getHeader("ETag"), true, corsResponse());
+
+        assertEquals(1, controllerCalls);
+        assertEquals(304, notModified.getStatus());
+        for (MockHttpServletResponse response : List.of(miss, cached, notModified)) {
+            assertEquals(List.of("Origin", "Accept", "Accept-Encoding"), response.getHeaders("Vary"));
+        }
+    }
+
+    private static MockHttpServletResponse corsResponse() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.addHeader("Vary", "Origin");
+        return response;
+    }
+
+    private MockHttpServletResponse get(String ifNoneMatch, boolean gzip) throws Exception {
+        return get(ifNoneMatch, gzip, new MockHttpServletResponse());
+    }
+
+    private MockHttpServletResponse get(String ifNoneMatch, boolean gzip, MockHttpServletResponse response)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/countries");
+        request.setServletPath("/countries");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        if (gzip) {
+            request.addHeader("Accept-Encoding", "gzip, deflate");
+        }
+        filter.doFilter(request, response, new MockFilterChain(controller));
+        return response;
+    }
+}
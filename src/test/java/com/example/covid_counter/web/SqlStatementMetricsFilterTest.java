@@ -0,0 +1,58 @@
+package com.example.covid_counter.web;
+
+import com.example.covid_counter.repo.SqlStatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SqlStatementMetricsFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SqlStatementMetricsFilter filter = new SqlStatementMetricsFilter(registry);
+    private final SqlStatementCounter inspector = new SqlStatementCounter();
+
+    // Stands in for the controller: "runs" three statements, like Hibernate would through the inspector.
+    private final HttpServlet controller = new HttpServlet() {
+        @Override
+        protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/countries/{country}");
+            for (int i = 0; i < 3; i++) {
+                inspector.inspect("select 1");
+            }
+        }
+    };
+
+    @Test
+    void recordsStatementsPerRequestByRouteTemplate() throws Exception {
+        // Statements from before the request must not leak into it.
+        inspector.inspect("select stale");
+
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/countries/India");
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(controller));
+        }
+
+        DistributionSummary summary = registry.get("http.server.requests.sql")
+                .tag("method", "GET").tag("uri", "/countries/{country}").summary();
+        assertEquals(2, summary.count());
+        assertEquals(6, summary.totalAmount());
+        assertEquals(3, summary.max());
+    }
+
+    @Test
+    void skipsActuatorScrapes() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/prometheus");
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(controller));
+
+        assertEquals(0, registry.find("http.server.requests.sql").meters().size());
+    }
+}